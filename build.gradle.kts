@@ -1,7 +1,9 @@
 plugins {
     id("java-library")
+    id("java-test-fixtures")
     id("com.vanniktech.maven.publish") version "0.36.0"
     id("io.github.simonhauck.release") version "1.5.0"
+    id("me.champeau.jmh") version "0.7.3"
 
 }
 
@@ -25,14 +27,26 @@ dependencies {
     compileOnly("org.springframework:spring-context")
     compileOnly("org.springframework.boot:spring-boot-autoconfigure")
     compileOnly("org.springframework.boot:spring-boot-docker-compose")
+    compileOnly("org.springframework.boot:spring-boot-health")
     compileOnly("org.springframework.boot:spring-boot-starter-restclient")
+    compileOnly("org.springframework.boot:spring-boot-starter-webclient")
     compileOnly("com.fasterxml.jackson.core:jackson-annotations")
+    compileOnly("io.micrometer:micrometer-core")
+    compileOnly("org.apache.httpcomponents.client5:httpclient5")
+    compileOnly("org.eclipse.jetty:jetty-client")
+    compileOnly("org.eclipse.jetty.http2:jetty-http2-client-transport")
 
     annotationProcessor("org.springframework.boot:spring-boot-autoconfigure-processor")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
+    testFixturesCompileOnly(platform("org.springframework.boot:spring-boot-dependencies:4.0+"))
+    testFixturesCompileOnly("org.springframework:spring-web")
+
     testImplementation(platform("org.springframework.boot:spring-boot-dependencies:4.0+"))
     testImplementation("org.springframework.boot:spring-boot-starter-web")
+    testImplementation("org.springframework.boot:spring-boot-starter-webclient")
+    testImplementation("io.micrometer:micrometer-core")
+    testImplementation("org.springframework.boot:spring-boot-health")
 
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -41,6 +55,11 @@ dependencies {
     testImplementation(platform("org.testcontainers:testcontainers-bom:2.0.2"))
     testImplementation("org.testcontainers:testcontainers")
     testImplementation("org.testcontainers:testcontainers-junit-jupiter")
+
+    jmh(platform("org.springframework.boot:spring-boot-dependencies:4.0+"))
+    jmh("org.springframework:spring-web")
+    jmh("tools.jackson.core:jackson-databind")
+    jmh(testFixtures(project))
 }
 
 tasks.withType<JavaCompile> {
@@ -52,5 +71,17 @@ tasks.test {
     useJUnitPlatform()
 }
 
+// ./gradlew jmh -Pjmh.includes=Multipart
+jmh {
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+    benchmarkMode = listOf("thrpt", "sample")
+    timeUnit = "us"
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+}
+
 release {
 }
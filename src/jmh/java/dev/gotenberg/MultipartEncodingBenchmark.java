@@ -0,0 +1,90 @@
+package dev.gotenberg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// Cost of writing a form with one file and a dozen fields as `multipart/form-data`, to a sink.
+@State(Scope.Benchmark)
+public class MultipartEncodingBenchmark {
+
+    @Param({"16384", "1048576"})
+    public int fileSize;
+
+    @Param({"bytes", "stream"})
+    public String fileType;
+
+    // The converter used by RestClient, numbers and booleans are written by Jackson
+    private final AllEncompassingFormHttpMessageConverter converter = new AllEncompassingFormHttpMessageConverter();
+    private byte[] content;
+    private OptionsTemplate<GotenbergClient.ChromiumConvertOptions> template;
+
+    @Setup
+    public void setUp() {
+        content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        template = OptionsTemplate.of(options());
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        return write(options());
+    }
+
+    @Benchmark
+    public long encodeFromTemplate() throws IOException {
+        return write(template.newRequest());
+    }
+
+    private static GotenbergClient.ChromiumConvertOptions options() {
+        return GotenbergClient.chromiumConvertOptions()
+                .paperWidth(8.27).paperHeight(11.7)
+                .marginTop(0.4).marginBottom(0.4).marginLeft(0.4).marginRight(0.4)
+                .printBackground(true).waitDelay("500ms");
+    }
+
+    private long write(GotenbergClient.ChromiumConvertOptions options) throws IOException {
+        if (fileType.equals("bytes")) options.file("index.html", content);
+        else options.file("index.html", new ByteArrayInputStream(content));
+
+        CountingMessage message = new CountingMessage();
+        converter.write(options.parts, MediaType.MULTIPART_FORM_DATA, message);
+        return message.count;
+    }
+
+    private static final class CountingMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        long count;
+
+        @Override
+        public OutputStream getBody() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) {
+                    count++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    count += len;
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/// Cost of building options and of the copy every route makes before adding its own parts.
+@State(Scope.Benchmark)
+public class OptionsBenchmark {
+    private static final byte[] INDEX_HTML = "<html><body><h1>Benchmark</h1></body></html>".getBytes();
+
+    private ChromiumConvertOptions template;
+    private OptionsTemplate<ChromiumConvertOptions> frozen;
+
+    @Setup
+    public void setUp() {
+        template = build();
+        frozen = OptionsTemplate.of(build());
+    }
+
+    @Benchmark
+    public ChromiumConvertOptions build() {
+        return GotenbergClient.chromiumConvertOptions()
+                .paperWidth(8.27).paperHeight(11.7)
+                .marginTop(0.4).marginBottom(0.4).marginLeft(0.4).marginRight(0.4)
+                .printBackground(true).preferCSSPageSize(false)
+                .waitDelay("500ms").generateDocumentOutline(true);
+    }
+
+    @Benchmark
+    public ChromiumConvertOptions copy() {
+        return new ChromiumConvertOptions(template);
+    }
+
+    @Benchmark
+    public ChromiumConvertOptions copyAndAddFile() {
+        return new ChromiumConvertOptions(template).file("index.html", INDEX_HTML);
+    }
+
+    @Benchmark
+    public ChromiumConvertOptions newRequestAndAddFile() {
+        return frozen.newRequest().file("index.html", INDEX_HTML);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.gotenberg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// Full round trip of a conversion against a [GotenbergStubServer]: encoding the form, sending it and draining
+/// the PDF, either to memory, to a sink or to a file.
+@State(Scope.Benchmark)
+public class ResponseDrainingBenchmark {
+    private static final String HTML = "<html><body><h1>Benchmark</h1></body></html>";
+
+    @Param({"65536", "4194304"})
+    public int responseSize;
+
+    private GotenbergStubServer server;
+    private GotenbergClient client;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] pdf = new byte[responseSize];
+        ThreadLocalRandom.current().nextBytes(pdf);
+        server = new GotenbergStubServer().pdf(pdf).start();
+        RestClient restClient = RestClient.builder().baseUrl(server.getBaseUrl()).build();
+        client = HttpServiceProxyFactory.builderFor(RestClientAdapter.create(restClient)).build()
+                .createClient(GotenbergClient.class);
+        target = Files.createTempFile("gotenberg-benchmark-", ".pdf");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public int readAllBytes() throws IOException {
+        try (InputStream body = client.convertHtml(HTML, null).getBody()) {
+            return body.readAllBytes().length;
+        }
+    }
+
+    @Benchmark
+    public long transferToSink() throws IOException {
+        try (InputStream body = client.convertHtml(HTML, null).getBody()) {
+            return body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public Path transferToFile() {
+        return client.convertHtmlTo(target, HTML, null).getBody();
+    }
+}
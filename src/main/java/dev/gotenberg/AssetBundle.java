@@ -0,0 +1,199 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import dev.gotenberg.GotenbergClient.ChromiumScreenshotOptions;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/// Stylesheets, fonts and images shared by many Chromium conversions, loaded once and attached by reference.
+///
+/// The files are read into a single buffer, on or off the heap, and every request gets read-only views of
+/// it instead of reading and copying the files again. The files are checked for changes at most once per
+/// `checkInterval`, and the whole bundle is reloaded when one of them changed.
+///
+/// ```java
+/// AssetBundle assets = AssetBundle.of(Path.of("templates/assets"));
+/// gotenbergClient.convertHtml(html, assets.attachTo(GotenbergClient.chromiumConvertOptions()));
+/// ```
+public class AssetBundle {
+    private static final Log logger = LogFactory.getLog(AssetBundle.class);
+
+    private final List<Path> files;
+    private final boolean offHeap;
+    private final long checkIntervalNanos;
+    private volatile Snapshot snapshot;
+    private volatile long checkedAt;
+    private volatile int reloadCount;
+
+    /// @param files         the files to attach, sent under their own names
+    /// @param offHeap       whether to keep the files in a direct buffer, outside the heap
+    /// @param checkInterval minimum time between two checks of the files for changes
+    public AssetBundle(List<Path> files, boolean offHeap, Duration checkInterval) {
+        this.files = List.copyOf(files);
+        this.offHeap = offHeap;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.snapshot = load();
+        this.checkedAt = System.nanoTime();
+    }
+
+    /// A bundle of the regular files of the given directory, on the heap, checked for changes every 5 seconds.
+    public static AssetBundle of(Path directory) {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return new AssetBundle(listing.filter(Files::isRegularFile).sorted().toList(), false, Duration.ofSeconds(5));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list assets in " + directory, e);
+        }
+    }
+
+    public ChromiumConvertOptions attachTo(ChromiumConvertOptions options) {
+        for (Asset asset : current().assets()) options.file(asset);
+        return options;
+    }
+
+    public ChromiumScreenshotOptions attachTo(ChromiumScreenshotOptions options) {
+        for (Asset asset : current().assets()) options.file(asset);
+        return options;
+    }
+
+    /// Total size of the files.
+    public long getSize() {
+        return snapshot.buffer().capacity();
+    }
+
+    /// Number of times the files were reloaded after a change.
+    public int getReloadCount() {
+        return reloadCount;
+    }
+
+    private Snapshot current() {
+        long now = System.nanoTime();
+        if (now - checkedAt < checkIntervalNanos) return snapshot;
+        synchronized (this) {
+            if (now - checkedAt < checkIntervalNanos) return snapshot;
+            checkedAt = now;
+            try {
+                if (!stamps().equals(snapshot.stamps())) {
+                    snapshot = load();
+                    reloadCount++;
+                }
+            } catch (UncheckedIOException e) {
+                // A file being replaced may be missing for a moment, the next check picks it up
+                logger.warn("Could not reload assets, keeping the previous version: " + e.getMessage());
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot load() {
+        List<Stamp> stamps = stamps();
+        long total = stamps.stream().mapToLong(Stamp::size).sum();
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Assets larger than 2GB: " + total + " bytes");
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect((int) total) : ByteBuffer.allocate((int) total);
+        List<Asset> assets = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            // Bounded by the size read above: a file written meanwhile has a new stamp and is reloaded at the next check
+            ByteBuffer slot = buffer.slice(buffer.position(), (int) stamps.get(i).size());
+            try (FileChannel channel = FileChannel.open(file)) {
+                while (slot.hasRemaining()) {
+                    if (channel.read(slot) < 0) break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read asset " + file, e);
+            }
+            assets.add(new Asset(file.getFileName().toString(), slot.flip().asReadOnlyBuffer()));
+            buffer.position(buffer.position() + slot.capacity());
+        }
+        return new Snapshot(List.copyOf(assets), stamps, buffer);
+    }
+
+    private List<Stamp> stamps() {
+        List<Stamp> stamps = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                stamps.add(new Stamp(attributes.lastModifiedTime(), attributes.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read asset " + file, e);
+            }
+        }
+        return stamps;
+    }
+
+    private record Snapshot(List<Asset> assets, List<Stamp> stamps, ByteBuffer buffer) {
+    }
+
+    private record Stamp(FileTime modified, long size) {
+    }
+
+    /// A read-only view of one file of the bundle.
+    private static final class Asset extends AbstractResource {
+        private final String filename;
+        private final ByteBuffer content;
+
+        Asset(String filename, ByteBuffer content) {
+            this.filename = filename;
+            this.content = content;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            ByteBuffer view = content.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return view.hasRemaining() ? view.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (len == 0) return 0;
+                    if (!view.hasRemaining()) return -1;
+                    int count = Math.min(len, view.remaining());
+                    view.get(b, off, count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return view.remaining();
+                }
+            };
+        }
+
+        @Override
+        public long contentLength() {
+            return content.remaining();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Gotenberg asset [" + filename + "]";
+        }
+    }
+}
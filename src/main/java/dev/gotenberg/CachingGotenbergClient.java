@@ -0,0 +1,69 @@
+package dev.gotenberg;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/// [GotenbergClient] serving repeated conversions from a [GotenbergResultCache].
+///
+/// Only deterministic routes are cached, keyed by the [GotenbergFingerprint] of the request. Requests with
+/// parts that can only be read once or with headers other than `Gotenberg-Trace` (webhooks), failed responses and
+/// results larger than the maximum entry size go straight to Gotenberg.
+public class CachingGotenbergClient extends GotenbergClientDecorator {
+    private final GotenbergResultCache cache;
+
+    public CachingGotenbergClient(GotenbergClient delegate, GotenbergResultCache cache) {
+        super(delegate);
+        this.cache = cache;
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        if (!route.isDeterministic() || hasOtherHeaders(headers)) return call.apply(body, headers);
+        String key = GotenbergFingerprint.of(route, body);
+        if (key == null) return call.apply(body, headers);
+
+        GotenbergResultCache.Entry cached = cache.get(key);
+        if (cached != null) return cached.toResponse();
+
+        ResponseEntity<InputStream> response = call.apply(body, headers);
+        InputStream in = response.getBody();
+        if (!response.getStatusCode().is2xxSuccessful() || in == null) return response;
+        try {
+            byte[] head = in.readNBytes((int) Math.min(cache.getMaxEntryBytes() + 1, Integer.MAX_VALUE - 8));
+            if (head.length > cache.getMaxEntryBytes()) {
+                // Too large to be cached, hand the result over without buffering the rest of it
+                InputStream whole = new SequenceInputStream(new ByteArrayInputStream(head), in);
+                return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(whole);
+            }
+            in.close();
+            GotenbergResultCache.Entry entry = GotenbergResultCache.Entry.of(response, head);
+            cache.put(key, entry);
+            return entry.toResponse();
+        } catch (IOException e) {
+            // Nobody else is going to close it, and it holds a connection
+            try {
+                in.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new ResourceAccessException("I/O error while reading Gotenberg response: " + e.getMessage(), e);
+        }
+    }
+
+    /// Whether the request has headers with a meaning for Gotenberg, such as the webhook ones.
+    static boolean hasOtherHeaders(MultiValueMap<String, String> headers) {
+        for (String name : headers.keySet()) {
+            if (!GotenbergWebhookClient.TRACE.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
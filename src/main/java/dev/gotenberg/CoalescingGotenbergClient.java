@@ -0,0 +1,143 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/// [GotenbergClient] sending identical concurrent requests to Gotenberg only once.
+///
+/// Requests are identified by the [GotenbergFingerprint] of their route and form. A request arriving while an
+/// identical one is in flight waits for it instead of being sent: the body of the response is read once into a
+/// [SpilledResource], on the heap up to the spill threshold and in a temporary file above it, and every caller
+/// gets its own stream over it. The file is deleted once all of them are closed. When nobody joined, the
+/// response is handed over as is, without being buffered.
+///
+/// Callers that joined share the outcome of the first one, including its failure and its deadline. Requests
+/// with parts that can only be read once or with headers other than `Gotenberg-Trace` (webhooks) are always
+/// sent.
+public class CoalescingGotenbergClient extends GotenbergClientDecorator {
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final long spillThreshold;
+    private final LongAdder coalesced = new LongAdder();
+
+    /// @param spillThreshold size above which a shared response body is written to a temporary file
+    public CoalescingGotenbergClient(GotenbergClient delegate, long spillThreshold) {
+        super(delegate);
+        this.spillThreshold = spillThreshold;
+    }
+
+    /// Number of requests that were not sent because an identical one was in flight.
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        if (CachingGotenbergClient.hasOtherHeaders(headers)) return call.apply(body, headers);
+        String key = GotenbergFingerprint.of(route, body);
+        if (key == null) return call.apply(body, headers);
+
+        Flight created = new Flight();
+        Flight flight = flights.compute(key, (_, existing) -> {
+            if (existing == null) return created;
+            existing.callers++;
+            return existing;
+        });
+        if (flight != created) {
+            coalesced.increment();
+            return flight.await(route);
+        }
+        return lead(key, flight, body, headers, call);
+    }
+
+    private ResponseEntity<InputStream> lead(String key, Flight flight, MultiValueMap<String, Object> body,
+                                             MultiValueMap<String, String> headers, Call call) {
+        try {
+            ResponseEntity<InputStream> response;
+            try {
+                response = call.apply(body, headers);
+            } finally {
+                // Nobody can join once the flight is removed, so the number of callers is final
+                flights.remove(key, flight);
+            }
+            InputStream in = response.getBody();
+            if (flight.callers == 1 || in == null) {
+                flight.result.complete(new Shared(response.getStatusCode(), response.getHeaders(), null));
+                return response;
+            }
+            SpilledResource shared;
+            try (in) {
+                shared = SpilledResource.of(in, "result", spillThreshold);
+            } catch (IOException e) {
+                throw new ResourceAccessException("I/O error while reading Gotenberg response: " + e.getMessage(), e);
+            }
+            shared.retain(flight.callers - 1);
+            Shared result = new Shared(response.getStatusCode(), response.getHeaders(), shared);
+            flight.result.complete(result);
+            return result.toResponse();
+        } catch (Throwable e) {
+            // Whatever went wrong, Errors included, the callers that joined must not wait forever
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private record Shared(HttpStatusCode status, HttpHeaders headers, @Nullable SpilledResource body) {
+
+        ResponseEntity<InputStream> toResponse() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).headers(headers);
+            if (body == null) return builder.build();
+            try {
+                return builder.body(body.openAndRelease());
+            } catch (IOException e) {
+                throw new ResourceAccessException("I/O error while reading Gotenberg response: " + e.getMessage(), e);
+            }
+        }
+
+        void release() {
+            if (body == null) return;
+            try {
+                body.release();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /// A request in flight and the callers waiting for it. Callers are counted under the lock of the map.
+    private static final class Flight {
+        final CompletableFuture<Shared> result = new CompletableFuture<>();
+        int callers = 1;
+
+        ResponseEntity<InputStream> await(GotenbergRoute route) {
+            Shared shared;
+            try {
+                shared = result.get();
+            } catch (InterruptedException e) {
+                // Still counted as a reader of the shared body
+                result.thenAccept(Shared::release);
+                Thread.currentThread().interrupt();
+                InterruptedIOException cause = new InterruptedIOException("Interrupted while waiting for an identical request to " + route.getPath());
+                cause.initCause(e);
+                throw new ResourceAccessException(cause.getMessage(), cause);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw new IllegalStateException(e.getCause());
+            }
+            return shared.toResponse();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// [GotenbergClient] enforcing the deadlines set with [GotenbergClient.Options#deadline(Instant)] and
+/// [GotenbergClient.Options#timeout(Duration)], the latter counted from the moment the request gets here.
+///
+/// A `waitDelay` longer than the time left is shortened to fit. When the deadline passes before the response
+/// arrives, the calling thread is interrupted, which makes the JDK and Jetty clients abort the exchange; once
+/// the response arrived, its body is closed instead. Either way the connection is dropped rather than returned
+/// to the pool, and Gotenberg cancels the conversion it was working on. Apache HttpClient does not react to
+/// interrupts: the [GotenbergTransport], when configured, gives it the time left as the response timeout of the
+/// request instead.
+///
+/// Requests without a deadline are passed through. The deadline is kept on the options rather than sent as a
+/// header, a client without this decorator does not enforce it.
+public class DeadlineGotenbergClient extends GotenbergClientDecorator {
+    private static final Pattern GO_DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(ns|us|µs|ms|s|m|h)");
+
+    /// Shared by all instances, its daemon thread only fires the timers and never blocks.
+    private static final ScheduledThreadPoolExecutor SCHEDULER = scheduler();
+    /// Deadline, in [System#nanoTime()] units, of the exchange running on the current thread.
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    public DeadlineGotenbergClient(GotenbergClient delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        Instant deadline = body instanceof FormParts parts ? parts.getDeadline() : null;
+        if (deadline == null) return call.apply(body, headers);
+        long remainingMillis = Duration.between(Instant.now(), deadline).toMillis();
+        MultiValueMap<String, Object> capped = capWaitDelay((FormParts) body, remainingMillis);
+
+        Expiry expiry = new Expiry(route, remainingMillis);
+        ResponseEntity<InputStream> response = expiry.run(() -> call.apply(capped, headers));
+        InputStream in = response.getBody();
+        if (in == null) {
+            expiry.finish();
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(expiry.watch(in));
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Map<String, Object>>> readMetadata(MultiValueMap<String, Object> body,
+                                                                         MultiValueMap<String, String> headers) {
+        Instant deadline = body instanceof FormParts parts ? parts.getDeadline() : null;
+        if (deadline == null) return delegate.readMetadata(body, headers);
+        Expiry expiry = new Expiry(GotenbergRoute.PDF_ENGINES_READ_METADATA, Duration.between(Instant.now(), deadline).toMillis());
+        // The JSON is read before the call returns, there is no body left to watch
+        ResponseEntity<Map<String, Map<String, Object>>> response = expiry.run(() -> delegate.readMetadata(body, headers));
+        expiry.finish();
+        return response;
+    }
+
+    /// Time left before the deadline of the exchange running on the current thread, or `null` without one.
+    static @Nullable Duration remainingTime() {
+        Long deadline = CURRENT.get();
+        return deadline != null ? Duration.ofNanos(deadline - System.nanoTime()) : null;
+    }
+
+    private static ScheduledThreadPoolExecutor scheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().daemon().name("gotenberg-deadline").factory());
+        // Most calls finish in time, their timers must not pile up in the queue until they are due
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static MultiValueMap<String, Object> capWaitDelay(FormParts body, long remainingMillis) {
+        String waitDelay = text(body.getFirst("waitDelay"));
+        if (waitDelay == null) return body;
+        Duration delay = parseGoDuration(waitDelay);
+        if (delay == null || delay.toMillis() <= remainingMillis) return body;
+        // The copy keeps the other settings of the request
+        FormParts copy = new FormParts(body);
+        copy.set("waitDelay", Math.max(remainingMillis, 0) + "ms");
+        return copy;
+    }
+
+    /// The text of a part, whether set on the options or already encoded by an [OptionsTemplate].
+    private static @Nullable String text(@Nullable Object part) {
+        if (part instanceof String value) return value;
+        if (part instanceof HttpEntity<?> entity && entity.getBody() instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    /// Parses durations such as `500ms`, `5s` or `1m30s`, as accepted by Gotenberg.
+    static @Nullable Duration parseGoDuration(String value) {
+        Matcher matcher = GO_DURATION.matcher(value.trim());
+        double nanos = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            double amount = Double.parseDouble(matcher.group(1));
+            nanos += amount * switch (matcher.group(2)) {
+                case "ns" -> 1;
+                case "us", "µs" -> 1_000;
+                case "ms" -> 1_000_000;
+                case "s" -> 1_000_000_000L;
+                case "m" -> 60_000_000_000L;
+                default -> 3_600_000_000_000L;
+            };
+            end = matcher.end();
+        }
+        return end > 0 && end == value.trim().length() ? Duration.ofNanos((long) nanos) : null;
+    }
+
+    /// The race between a call and its deadline. Transitions happen under the lock, so an interrupt meant
+    /// for the call can never hit the caller once the call returned.
+    private static final class Expiry {
+        private static final int CALLING = 0, RECEIVED = 1, DONE = 2, EXPIRED = 3;
+
+        private final GotenbergRoute route;
+        private final long remainingMillis;
+        private final long deadlineNanos;
+        private final Thread caller = Thread.currentThread();
+        private int state = CALLING;
+        private @Nullable InputStream body;
+        private @Nullable ScheduledFuture<?> timer;
+
+        Expiry(GotenbergRoute route, long remainingMillis) {
+            this.route = route;
+            this.remainingMillis = remainingMillis;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        <T> T run(Supplier<T> call) {
+            if (remainingMillis <= 0) throw new GotenbergDeadlineExceededException(route, null);
+            timer = SCHEDULER.schedule(this::expire, remainingMillis, TimeUnit.MILLISECONDS);
+            Long outer = CURRENT.get();
+            CURRENT.set(deadlineNanos);
+            T result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                if (fail()) throw new GotenbergDeadlineExceededException(route, e);
+                throw e;
+            } finally {
+                if (outer != null) CURRENT.set(outer);
+                else CURRENT.remove();
+            }
+            if (!received(result)) throw new GotenbergDeadlineExceededException(route, null);
+            return result;
+        }
+
+        InputStream watch(InputStream in) {
+            synchronized (this) {
+                body = in;
+            }
+            return new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        return super.read();
+                    } catch (IOException e) {
+                        throw translate(e);
+                    }
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    try {
+                        int read = super.read(b, off, len);
+                        if (read < 0) finish();
+                        return read;
+                    } catch (IOException e) {
+                        throw translate(e);
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    finish();
+                    super.close();
+                }
+            };
+        }
+
+        private synchronized void expire() {
+            if (state == CALLING) {
+                caller.interrupt();
+            } else if (state == RECEIVED && body != null) {
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                    // The connection is dropped either way
+                }
+            } else {
+                return;
+            }
+            state = EXPIRED;
+        }
+
+        /// Whether the call failed because of the deadline, clearing the interrupt that made it fail. A response
+        /// timeout may end the call just before the timer fires.
+        private synchronized boolean fail() {
+            if (timer != null) timer.cancel(false);
+            if (state != EXPIRED) {
+                state = DONE;
+                return System.nanoTime() - deadlineNanos >= 0;
+            }
+            Thread.interrupted();
+            return true;
+        }
+
+        private synchronized boolean received(Object result) {
+            if (state != EXPIRED) {
+                state = RECEIVED;
+                return true;
+            }
+            Thread.interrupted();
+            if (result instanceof ResponseEntity<?> response && response.getBody() instanceof InputStream in) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // Nobody is going to read it
+                }
+            }
+            return false;
+        }
+
+        synchronized void finish() {
+            if (timer != null) timer.cancel(false);
+            if (state != EXPIRED) state = DONE;
+        }
+
+        private synchronized IOException translate(IOException e) {
+            if (state != EXPIRED) return e;
+            return new IOException("Deadline exceeded for " + route.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.gotenberg;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+/// Names the observations `gotenberg.client.requests`, tagged with the `route`, `node`, `status` and
+/// `outcome` of the call. The `Gotenberg-Trace` sent with the request is added to spans as `gotenberg.trace`.
+public class DefaultGotenbergObservationConvention implements GotenbergObservationConvention {
+    public static final String NAME = "gotenberg.client.requests";
+    private static final String NONE = "none";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getContextualName(GotenbergObservationContext context) {
+        return "gotenberg " + context.getRoute().getPath();
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(GotenbergObservationContext context) {
+        Integer status = context.getStatus();
+        String node = context.getNode();
+        return KeyValues.of(
+                KeyValue.of("route", context.getRoute().getPath()),
+                KeyValue.of("node", node != null ? node : NONE),
+                KeyValue.of("status", status != null ? status.toString() : NONE),
+                KeyValue.of("outcome", outcome(status)));
+    }
+
+    @Override
+    public KeyValues getHighCardinalityKeyValues(GotenbergObservationContext context) {
+        return KeyValues.of("gotenberg.trace", context.getTrace());
+    }
+
+    private static String outcome(@Nullable Integer status) {
+        if (status == null) return "UNKNOWN";
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return series != null ? series.name() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,17 @@
+package dev.gotenberg;
+
+import java.nio.file.Path;
+
+class FileSystemResource extends org.springframework.core.io.FileSystemResource {
+    private final String filename;
+
+    public FileSystemResource(Path path, String filename) {
+        super(path);
+        this.filename = filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+}
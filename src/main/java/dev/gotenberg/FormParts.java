@@ -0,0 +1,117 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/// The form parts of an [GotenbergClient.Options]. A list of values can be shared with an [OptionsTemplate],
+/// in which case it is immutable and copied before it is first written to.
+///
+/// It also carries the settings of the request that are meant for the decorators of the client rather than for
+/// Gotenberg, such as its deadline and priority. A client that does not know about them ignores them.
+final class FormParts extends LinkedMultiValueMap<String, Object> {
+    private final Set<String> shared = new HashSet<>();
+    private @Nullable Instant deadline;
+    private @Nullable Duration timeout;
+    private @Nullable GotenbergPriority priority;
+
+    FormParts() {
+    }
+
+    /// Copies the lists of `other`, except the shared ones, and its settings.
+    FormParts(FormParts other) {
+        other.forEach((key, values) -> {
+            if (other.isShared(key)) share(key, values);
+            else super.put(key, new ArrayList<>(values));
+        });
+        deadline = other.deadline;
+        timeout = other.timeout;
+        priority = other.priority;
+    }
+
+    /// The instant the request gives up at: the deadline set, or the timeout counted from now.
+    @Nullable Instant getDeadline() {
+        return timeout != null ? Instant.now().plus(timeout) : deadline;
+    }
+
+    /// Whether the request gives up at a fixed instant rather than after a timeout.
+    boolean hasFixedDeadline() {
+        return deadline != null;
+    }
+
+    void setDeadline(Instant deadline) {
+        this.deadline = deadline;
+        this.timeout = null;
+    }
+
+    void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+        this.deadline = null;
+    }
+
+    @Nullable GotenbergPriority getPriority() {
+        return priority;
+    }
+
+    void setPriority(GotenbergPriority priority) {
+        this.priority = priority;
+    }
+
+    /// Uses `values`, which must not change, until the key is written to.
+    void share(String key, List<Object> values) {
+        super.put(key, values);
+        shared.add(key);
+    }
+
+    boolean isShared(String key) {
+        return shared.contains(key);
+    }
+
+    @Override
+    public void add(String key, @Nullable Object value) {
+        unshare(key);
+        super.add(key, value);
+    }
+
+    @Override
+    public void addAll(String key, List<?> values) {
+        unshare(key);
+        super.addAll(key, values);
+    }
+
+    @Override
+    public void set(String key, @Nullable Object value) {
+        shared.remove(key);
+        super.set(key, value);
+    }
+
+    @Override
+    public @Nullable List<Object> put(String key, List<Object> value) {
+        shared.remove(key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public @Nullable List<Object> remove(Object key) {
+        shared.remove(key);
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        super.clear();
+    }
+
+    private void unshare(String key) {
+        if (!shared.remove(key)) return;
+        List<Object> values = get(key);
+        if (values != null) super.put(key, new ArrayList<>(values));
+    }
+}
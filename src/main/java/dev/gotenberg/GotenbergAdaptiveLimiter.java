@@ -0,0 +1,163 @@
+package dev.gotenberg;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// Adaptive limit on the number of requests in flight, per node and per [GotenbergModule].
+///
+/// The limit follows an AIMD scheme driven by what Gotenberg tells us about its load:
+/// - it grows by one every `limit` successful responses, as long as the limit is actually used and latency
+///   stays within `latencyTolerance` times its long-term average;
+/// - it shrinks by 10% when latency climbs above that tolerance, a sign that requests are queuing on the server;
+/// - it is multiplied by `backoffRatio` on `503`, `429` or a timeout.
+///
+/// Other failures, such as a refused connection or a `500`, say nothing about the load: they free their slot
+/// without moving the limit or the latency average.
+///
+/// Requests over the current limit wait for a slot for up to `queueTimeout`, then fail with a
+/// [GotenbergRejectedException].
+public class GotenbergAdaptiveLimiter implements ClientHttpRequestInterceptor {
+    private static final double LATENCY_BACKOFF_RATIO = 0.9;
+    private static final double LONG_TERM_ALPHA = 0.05;
+
+    private final Map<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long queueTimeoutNanos;
+
+    public GotenbergAdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double latencyTolerance, Duration queueTimeout) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        GotenbergModule module = GotenbergModule.of(request.getURI().getPath());
+        if (module == null) return execution.execute(request, body);
+
+        Lane lane = lanes.computeIfAbsent(new LaneKey(request.getURI().getAuthority(), module), key -> new Lane(initialLimit));
+        long queued = System.nanoTime();
+        lane.acquire(module);
+        long start = System.nanoTime();
+        GotenbergExchangeStats.recordQueueWait(start - queued);
+        Outcome outcome = Outcome.IGNORED;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                outcome = Outcome.DROPPED;
+            } else if (response.getStatusCode().is2xxSuccessful()) {
+                outcome = Outcome.SUCCEEDED;
+            }
+            return response;
+        } catch (SocketTimeoutException | HttpTimeoutException e) {
+            outcome = Outcome.DROPPED;
+            throw e;
+        } finally {
+            lane.release(System.nanoTime() - start, outcome);
+        }
+    }
+
+    /// The current limit for the given module of the given node, identified by its `host:port`.
+    public int getLimit(String node, GotenbergModule module) {
+        Lane lane = lanes.get(new LaneKey(node, module));
+        return lane != null ? (int) lane.limit : initialLimit;
+    }
+
+    /// The number of requests in flight for the given module of the given node, identified by its `host:port`.
+    public int getInFlight(String node, GotenbergModule module) {
+        Lane lane = lanes.get(new LaneKey(node, module));
+        return lane != null ? lane.inFlight : 0;
+    }
+
+    private record LaneKey(String node, GotenbergModule module) {
+    }
+
+    private enum Outcome {
+        SUCCEEDED, DROPPED, IGNORED
+    }
+
+    private final class Lane {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition available = lock.newCondition();
+        volatile double limit;
+        volatile int inFlight;
+        double longTermLatency;
+
+        Lane(int initialLimit) {
+            this.limit = initialLimit;
+        }
+
+        void acquire(GotenbergModule module) throws InterruptedIOException {
+            lock.lock();
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw new GotenbergRejectedException(module, "Request to Gotenberg %s rejected: concurrency limit of %d reached"
+                                .formatted(module, (int) limit));
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a %s slot".formatted(module));
+                exception.initCause(e);
+                throw exception;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latencyNanos, Outcome outcome) {
+            lock.lock();
+            try {
+                boolean saturated = inFlight * 2 >= (int) limit;
+                inFlight--;
+                if (outcome == Outcome.DROPPED) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                } else if (outcome == Outcome.SUCCEEDED) {
+                    if (longTermLatency > 0 && latencyNanos > longTermLatency * latencyTolerance) {
+                        limit = Math.max(minLimit, limit * LATENCY_BACKOFF_RATIO);
+                    } else if (saturated) {
+                        limit = Math.min(maxLimit, limit + 1 / limit);
+                    }
+                    longTermLatency = longTermLatency == 0
+                            ? latencyNanos
+                            : longTermLatency + LONG_TERM_ALPHA * (latencyNanos - longTermLatency);
+                }
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
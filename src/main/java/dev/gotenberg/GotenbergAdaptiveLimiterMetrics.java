@@ -0,0 +1,37 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+
+/// Exposes the current limit of a [GotenbergAdaptiveLimiter] as Micrometer meters, tagged by node and module.
+public class GotenbergAdaptiveLimiterMetrics implements MeterBinder {
+    private final GotenbergAdaptiveLimiter limiter;
+    private final List<String> nodes;
+
+    /// @param nodes the `host:port` of each node the limiter applies to
+    public GotenbergAdaptiveLimiterMetrics(GotenbergAdaptiveLimiter limiter, List<String> nodes) {
+        this.limiter = limiter;
+        this.nodes = nodes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String node : nodes) {
+            for (GotenbergModule module : GotenbergModule.values()) {
+                Gauge.builder("gotenberg.client.concurrency.limit", limiter, l -> l.getLimit(node, module))
+                        .description("Current adaptive limit of requests in flight")
+                        .tag("node", node)
+                        .tag("module", module.getValue())
+                        .register(registry);
+                Gauge.builder("gotenberg.client.concurrency.in.flight", limiter, l -> l.getInFlight(node, module))
+                        .description("Requests in flight under the adaptive limit")
+                        .tag("node", node)
+                        .tag("module", module.getValue())
+                        .register(registry);
+            }
+        }
+    }
+}
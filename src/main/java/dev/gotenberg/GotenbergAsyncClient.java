@@ -0,0 +1,171 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import dev.gotenberg.GotenbergClient.ChromiumScreenshotOptions;
+import dev.gotenberg.GotenbergClient.LibreOfficeOptions;
+import dev.gotenberg.GotenbergClient.PdfConvertOptions;
+import dev.gotenberg.GotenbergClient.PdfMergeOptions;
+import dev.gotenberg.GotenbergClient.PdfReadMetadataOptions;
+import dev.gotenberg.GotenbergClient.PdfWriteMetadataOptions;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/// Asynchronous variant of [GotenbergClient].
+///
+/// Each route is submitted to an [Executor] and completes a [CompletableFuture] once Gotenberg answers.
+/// By default, every call runs on its own virtual thread, so thousands of conversions can be in flight
+/// without tying up platform threads while Chromium or LibreOffice do their work.
+public class GotenbergAsyncClient implements AutoCloseable {
+    private final GotenbergClient client;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+
+    /// Creates a client running every call on a new virtual thread.
+    public GotenbergAsyncClient(GotenbergClient client) {
+        this(client, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gotenberg-", 0).factory()), true);
+    }
+
+    /// Creates a client running every call on the given executor. The executor is not closed by [#close()].
+    public GotenbergAsyncClient(GotenbergClient client, Executor executor) {
+        this(client, executor, false);
+    }
+
+    private GotenbergAsyncClient(GotenbergClient client, Executor executor, boolean ownsExecutor) {
+        this.client = client;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /// The blocking client the calls are delegated to.
+    public GotenbergClient blocking() {
+        return client;
+    }
+
+    //region Chromium Convert
+    public CompletableFuture<ResponseEntity<InputStream>> convertHtml(String indexHtml, @Nullable ChromiumConvertOptions options) {
+        return supply(() -> client.convertHtml(indexHtml, options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
+        return supply(() -> client.convertHtml(indexHtml, options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> convertUrl(String url, @Nullable ChromiumConvertOptions options) {
+        return supply(() -> client.convertUrl(url, options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> convertMarkdown(ChromiumConvertOptions options) {
+        return supply(() -> client.convertMarkdown(options));
+    }
+    //endregion
+
+    //region Chromium Screenshot
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotHtml(String indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return supply(() -> client.screenshotHtml(indexHtml, options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotHtml(byte[] indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return supply(() -> client.screenshotHtml(indexHtml, options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotUrl(String url, @Nullable ChromiumScreenshotOptions options) {
+        return supply(() -> client.screenshotUrl(url, options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotMarkdown(ChromiumScreenshotOptions options) {
+        return supply(() -> client.screenshotMarkdown(options));
+    }
+    //endregion
+
+    //region Libre Office Convert
+    public CompletableFuture<ResponseEntity<InputStream>> convertLibreOffice(LibreOfficeOptions options) {
+        return supply(() -> client.convertLibreOffice(options));
+    }
+    //endregion
+
+    //region PDF Engines
+    public CompletableFuture<ResponseEntity<InputStream>> pdfMerge(PdfMergeOptions options) {
+        return supply(() -> client.pdfMerge(options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> pdfConvert(PdfConvertOptions options) {
+        return supply(() -> client.pdfConvert(options));
+    }
+
+    public CompletableFuture<ResponseEntity<Map<String, Map<String, Object>>>> readMetadata(PdfReadMetadataOptions options) {
+        return supply(() -> client.readMetadata(options));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> writeMetadata(PdfWriteMetadataOptions options) {
+        return supply(() -> client.writeMetadata(options));
+    }
+    //endregion
+
+    /// Runs the call on the executor. Cancelling the future interrupts the call, which aborts the exchange with the
+    /// JDK and Jetty clients, and a response arriving after the future was cancelled is closed.
+    <T> CompletableFuture<T> supply(Supplier<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runner runner = new Runner();
+        executor.execute(() -> {
+            if (!runner.start()) return;
+            try {
+                T result = call.get();
+                if (!future.complete(result) && result instanceof ResponseEntity<?> response
+                        && response.getBody() instanceof InputStream in) {
+                    try {
+                        in.close();
+                    } catch (IOException ignored) {
+                        // Nobody is going to read it
+                    }
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                runner.finish();
+            }
+        });
+        future.whenComplete((_, _) -> {
+            if (future.isCancelled()) runner.cancel();
+        });
+        return future;
+    }
+
+    /// The thread running a call, interrupted if the call is cancelled while running.
+    private static final class Runner {
+        private @Nullable Thread thread;
+        private boolean cancelled;
+
+        synchronized boolean start() {
+            if (cancelled) return false;
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        synchronized void finish() {
+            thread = null;
+            // Executor threads may be pooled, do not leave an interrupt meant for this call behind
+            Thread.interrupted();
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (thread != null) thread.interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor && executor instanceof ExecutorService executorService) {
+            executorService.close();
+        }
+    }
+}
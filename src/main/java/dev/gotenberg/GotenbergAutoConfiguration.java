@@ -1,17 +1,24 @@
 package dev.gotenberg;
 
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.restclient.autoconfigure.RestClientAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+
 
 @AutoConfiguration(after = RestClientAutoConfiguration.class)
 @ConditionalOnClass(RestClient.class)
@@ -20,17 +27,180 @@ class GotenbergAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(GotenbergConnectionDetails.class)
-    @ConditionalOnProperty("gotenberg.base-url")
+    @Conditional(OnGotenbergUrlCondition.class)
     PropertiesGotenbergConnectionDetails gotenbergConnectionDetails(GotenbergProperties gotenbergProperties) {
-        return new PropertiesGotenbergConnectionDetails(gotenbergProperties.baseUrl());
+        return PropertiesGotenbergConnectionDetails.of(gotenbergProperties);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergConnectionDetails.class)
+    @ConditionalOnMissingBean
+    GotenbergNodePool gotenbergNodePool(GotenbergConnectionDetails gotenbergConnectionDetails, GotenbergProperties gotenbergProperties,
+                                        ObjectProvider<GotenbergCircuitBreaker> gotenbergCircuitBreaker) {
+        GotenbergProperties.HealthCheck healthCheck = gotenbergProperties.healthCheck();
+        GotenbergNodePool pool = new GotenbergNodePool(gotenbergConnectionDetails.baseUrl(), gotenbergConnectionDetails.nodes(),
+                GotenbergNodePool.DEFAULT_WEIGHTS, healthCheck.failureThreshold(), healthCheck.ejectionBackoff(),
+                healthCheck.maxEjectionBackoff());
+        gotenbergCircuitBreaker.ifAvailable(pool::setCircuitBreaker);
+        return pool;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("gotenberg.circuit-breaker.enabled")
+    GotenbergCircuitBreaker gotenbergCircuitBreaker(GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.CircuitBreaker circuitBreaker = gotenbergProperties.circuitBreaker();
+        return new GotenbergCircuitBreaker(circuitBreaker.failureRateThreshold(), circuitBreaker.slowCallRateThreshold(),
+                circuitBreaker.slowCallDuration(), circuitBreaker.windowSize(), circuitBreaker.minimumCalls(),
+                circuitBreaker.openDuration(), circuitBreaker.halfOpenCalls());
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergNodePool.class)
+    @ConditionalOnMissingBean
+    @Conditional(OnHealthCheckCondition.class)
+    GotenbergHealthProber gotenbergHealthProber(GotenbergNodePool gotenbergNodePool, GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.HealthCheck healthCheck = gotenbergProperties.healthCheck();
+        return new GotenbergHealthProber(gotenbergNodePool, healthCheck.interval(), healthCheck.timeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    GotenbergBulkhead gotenbergBulkhead(GotenbergProperties gotenbergProperties,
+                                        ObjectProvider<GotenbergNodePool> gotenbergNodePool) {
+        Map<GotenbergModule, Integer> maxConcurrent = new EnumMap<>(GotenbergModule.class);
+        if (gotenbergProperties.maxConcurrentChromium() != null) {
+            maxConcurrent.put(GotenbergModule.CHROMIUM, gotenbergProperties.maxConcurrentChromium());
+        }
+        if (gotenbergProperties.maxConcurrentLibreoffice() != null) {
+            maxConcurrent.put(GotenbergModule.LIBREOFFICE, gotenbergProperties.maxConcurrentLibreoffice());
+        }
+        if (gotenbergProperties.maxConcurrentPdfengines() != null) {
+            maxConcurrent.put(GotenbergModule.PDF_ENGINES, gotenbergProperties.maxConcurrentPdfengines());
+        }
+        GotenbergProperties.Scheduling scheduling = gotenbergProperties.scheduling();
+        GotenbergBulkhead bulkhead = new GotenbergBulkhead(maxConcurrent, gotenbergProperties.maxQueueSize(), gotenbergProperties.queueTimeout(),
+                new GotenbergBulkhead.Scheduling(scheduling.mode(),
+                        Map.of(GotenbergPriority.INTERACTIVE, scheduling.interactiveWeight(), GotenbergPriority.BULK, scheduling.bulkWeight()),
+                        Map.of(GotenbergPriority.INTERACTIVE, scheduling.interactiveFloor(), GotenbergPriority.BULK, scheduling.bulkFloor()),
+                        scheduling.aging()));
+        // Limits apply per node, the bulkhead sits in front of the whole pool
+        gotenbergNodePool.ifAvailable(bulkhead::setNodePool);
+        return bulkhead;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("gotenberg.adaptive-concurrency.enabled")
+    GotenbergAdaptiveLimiter gotenbergAdaptiveLimiter(GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.AdaptiveConcurrency adaptive = gotenbergProperties.adaptiveConcurrency();
+        return new GotenbergAdaptiveLimiter(adaptive.initialLimit(), adaptive.minLimit(), adaptive.maxLimit(),
+                adaptive.backoffRatio(), adaptive.latencyTolerance(), gotenbergProperties.queueTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("gotenberg.cache.enabled")
+    GotenbergResultCache gotenbergResultCache(GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.Cache cache = gotenbergProperties.cache();
+        return new GotenbergResultCache(cache.maxHeapSize().toBytes(), cache.maxEntrySize().toBytes(),
+                cache.directory(), cache.maxDiskSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("gotenberg.hedging.enabled")
+    GotenbergHedgePolicy gotenbergHedgePolicy(GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.Hedging hedging = gotenbergProperties.hedging();
+        return new GotenbergHedgePolicy(hedging.percentile(), hedging.minDelay(), hedging.budget());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("gotenberg.leak-detection.enabled")
+    GotenbergLeakDetector gotenbergLeakDetector(GotenbergProperties gotenbergProperties) {
+        return new GotenbergLeakDetector(gotenbergProperties.leakDetection().captureAllocationSite());
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergConnectionDetails.class)
+    @Conditional(OnGotenbergTransportCondition.class)
+    GotenbergTransport gotenbergTransport(GotenbergProperties gotenbergProperties) {
+        return GotenbergTransport.create(gotenbergProperties.transport());
     }
 
     @Bean
     @ConditionalOnBean(GotenbergConnectionDetails.class)
     @ConditionalOnMissingBean
-    GotenbergClient gotenbergClient(RestClient.Builder builder, GotenbergConnectionDetails gotenbergConnectionDetails) {
-        RestClient restClient = builder.baseUrl(gotenbergConnectionDetails.baseUrl()).build();
+    GotenbergClient gotenbergClient(RestClient.Builder builder, GotenbergConnectionDetails gotenbergConnectionDetails,
+                                    GotenbergProperties gotenbergProperties,
+                                    ObjectProvider<GotenbergTransport> gotenbergTransport,
+                                    GotenbergBulkhead gotenbergBulkhead, GotenbergNodePool gotenbergNodePool,
+                                    ObjectProvider<GotenbergCircuitBreaker> gotenbergCircuitBreaker,
+                                    ObjectProvider<GotenbergAdaptiveLimiter> gotenbergAdaptiveLimiter,
+                                    ObjectProvider<GotenbergHedgePolicy> gotenbergHedgePolicy,
+                                    ObjectProvider<GotenbergResultCache> gotenbergResultCache,
+                                    ObjectProvider<GotenbergLeakDetector> gotenbergLeakDetector,
+                                    ObjectProvider<ObservationRegistry> observationRegistry,
+                                    ObjectProvider<GotenbergObservationConvention> gotenbergObservationConvention) {
+        builder.baseUrl(gotenbergConnectionDetails.baseUrl());
+        gotenbergTransport.ifAvailable(transport -> builder.requestFactory(transport.getRequestFactory()));
+        if (gotenbergBulkhead.isLimiting()) builder.requestInterceptor(gotenbergBulkhead);
+        if (gotenbergNodePool.getNodes().size() > 1) builder.requestInterceptor(gotenbergNodePool);
+        // After the pool, which decides the node the circuit is looked up for
+        gotenbergCircuitBreaker.ifAvailable(builder::requestInterceptor);
+        gotenbergAdaptiveLimiter.ifAvailable(builder::requestInterceptor);
+        RestClient restClient = builder.build();
         HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(RestClientAdapter.create(restClient)).build();
-        return factory.createClient(GotenbergClient.class);
+        // Innermost, on the thread the interceptors run on, and whether the bulkhead is installed or not
+        GotenbergClient client = new PriorityGotenbergClient(factory.createClient(GotenbergClient.class));
+        client = new DeadlineGotenbergClient(client);
+        GotenbergHedgePolicy hedgePolicy = gotenbergHedgePolicy.getIfAvailable();
+        if (hedgePolicy != null) client = new HedgingGotenbergClient(client, hedgePolicy);
+        // Inside the cache, so that a burst of misses for the same result is sent once
+        GotenbergProperties.Coalescing coalescing = gotenbergProperties.coalescing();
+        if (coalescing.enabled()) client = new CoalescingGotenbergClient(client, coalescing.spillThreshold().toBytes());
+        GotenbergResultCache cache = gotenbergResultCache.getIfAvailable();
+        if (cache != null) client = new CachingGotenbergClient(client, cache);
+        ObservationRegistry registry = observationRegistry.getIfAvailable();
+        if (registry != null && !registry.isNoop()) {
+            String node = URI.create(gotenbergConnectionDetails.baseUrl()).getAuthority();
+            client = new ObservingGotenbergClient(client, registry, gotenbergObservationConvention.getIfAvailable(), node);
+        }
+        // Outermost, so that a leaked body is closed through every layer that wrapped it
+        GotenbergLeakDetector leakDetector = gotenbergLeakDetector.getIfAvailable();
+        if (leakDetector != null) client = new LeakDetectingGotenbergClient(client, leakDetector);
+        return client;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    GotenbergResponseBuffer gotenbergResponseBuffer(GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.ResponseBuffer responseBuffer = gotenbergProperties.responseBuffer();
+        return new GotenbergResponseBuffer(Math.toIntExact(responseBuffer.threshold().toBytes()), responseBuffer.maxPooled());
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergClient.class)
+    @ConditionalOnMissingBean
+    GotenbergAsyncClient gotenbergAsyncClient(GotenbergClient gotenbergClient) {
+        return new GotenbergAsyncClient(gotenbergClient);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("gotenberg.webhook.enabled")
+    GotenbergWebhookReceiver gotenbergWebhookReceiver(GotenbergProperties gotenbergProperties) {
+        GotenbergProperties.Webhook webhook = gotenbergProperties.webhook();
+        return new GotenbergWebhookReceiver(webhook.host(), webhook.port(), webhook.callbackUrl(), webhook.maxResultSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnBean({GotenbergClient.class, GotenbergWebhookReceiver.class})
+    @ConditionalOnMissingBean
+    GotenbergWebhookClient gotenbergWebhookClient(GotenbergClient gotenbergClient,
+                                                  GotenbergWebhookReceiver gotenbergWebhookReceiver,
+                                                  GotenbergProperties gotenbergProperties) {
+        return new GotenbergWebhookClient(gotenbergClient, gotenbergWebhookReceiver, gotenbergProperties.webhook().timeout());
     }
 }
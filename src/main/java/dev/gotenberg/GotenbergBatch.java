@@ -0,0 +1,216 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import dev.gotenberg.GotenbergClient.LibreOfficeOptions;
+import dev.gotenberg.GotenbergClient.PdfMergeOptions;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/// Runs many conversions with a bounded parallelism.
+///
+/// Jobs are pulled from the input lazily, as results are consumed: at most `parallelism` jobs are running
+/// or waiting to be handed out at any time, so memory and connections are bounded by the parallelism and
+/// not by the size of the batch. A failed or timed out job yields a [Result] holding the error, the rest
+/// of the batch carries on.
+///
+/// ```java
+/// try (Stream<GotenbergBatch.Result<Long>> results = batch.runInOrder(statements.stream()
+///         .map(s -> GotenbergBatch.Job.html(s.id(), s.html(), options)))) {
+///     results.forEach(result -> store(result.key(), result.response()));
+/// }
+/// ```
+///
+/// The body of every successful result must be closed, closing the stream cancels the jobs not yet handed out.
+public class GotenbergBatch implements AutoCloseable {
+    private final GotenbergClient client;
+    private final int parallelism;
+    private final Duration jobTimeout;
+    private final ExecutorService executor;
+
+    /// @param parallelism maximum number of jobs in flight
+    /// @param jobTimeout  maximum time a job may take until its response headers are received
+    public GotenbergBatch(GotenbergClient client, int parallelism, Duration jobTimeout) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.client = client;
+        this.parallelism = parallelism;
+        this.jobTimeout = jobTimeout;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gotenberg-batch-", 0).factory());
+    }
+
+    /// Runs the jobs, handing out results as they complete.
+    public <K> Stream<Result<K>> runAsCompleted(Stream<Job<K>> jobs) {
+        return stream(new Run<>(jobs.iterator(), false)).onClose(jobs::close);
+    }
+
+    /// Runs the jobs, handing out results as they complete.
+    public <K> Stream<Result<K>> runAsCompleted(Iterator<Job<K>> jobs) {
+        return stream(new Run<>(jobs, false));
+    }
+
+    /// Runs the jobs, handing out results in the order of the jobs.
+    public <K> Stream<Result<K>> runInOrder(Stream<Job<K>> jobs) {
+        return stream(new Run<>(jobs.iterator(), true)).onClose(jobs::close);
+    }
+
+    /// Runs the jobs, handing out results in the order of the jobs.
+    public <K> Stream<Result<K>> runInOrder(Iterator<Job<K>> jobs) {
+        return stream(new Run<>(jobs, true));
+    }
+
+    private <K> Stream<Result<K>> stream(Run<K> run) {
+        Spliterator<Result<K>> spliterator = Spliterators.spliteratorUnknownSize(run, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(run::cancel);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /// A conversion of a batch, identified by a key of the caller's choosing.
+    public record Job<K>(K key, Function<GotenbergClient, ResponseEntity<InputStream>> call) {
+
+        public static <K> Job<K> html(K key, String indexHtml, @Nullable ChromiumConvertOptions options) {
+            return new Job<>(key, client -> client.convertHtml(indexHtml, options));
+        }
+
+        public static <K> Job<K> html(K key, byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
+            return new Job<>(key, client -> client.convertHtml(indexHtml, options));
+        }
+
+        public static <K> Job<K> url(K key, String url, @Nullable ChromiumConvertOptions options) {
+            return new Job<>(key, client -> client.convertUrl(url, options));
+        }
+
+        public static <K> Job<K> libreOffice(K key, LibreOfficeOptions options) {
+            return new Job<>(key, client -> client.convertLibreOffice(options));
+        }
+
+        public static <K> Job<K> merge(K key, PdfMergeOptions options) {
+            return new Job<>(key, client -> client.pdfMerge(options));
+        }
+    }
+
+    /// The outcome of a [Job]: either its response or the error it failed with.
+    public record Result<K>(K key, @Nullable ResponseEntity<InputStream> response, @Nullable Throwable error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    private final class Run<K> implements Iterator<Result<K>> {
+        private final Iterator<Job<K>> jobs;
+        private final boolean ordered;
+        private final Deque<Pending<K>> submitted = new ArrayDeque<>();
+        private final BlockingQueue<Result<K>> completed = new LinkedBlockingQueue<>();
+        private int inFlight;
+
+        Run(Iterator<Job<K>> jobs, boolean ordered) {
+            this.jobs = jobs;
+            this.ordered = ordered;
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return inFlight > 0;
+        }
+
+        @Override
+        public Result<K> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            inFlight--;
+            try {
+                if (ordered) {
+                    Pending<K> pending = submitted.removeFirst();
+                    try {
+                        return new Result<>(pending.key(), pending.response().join(), null);
+                    } catch (CompletionException | CancellationException e) {
+                        return new Result<>(pending.key(), null, e instanceof CompletionException ? e.getCause() : e);
+                    }
+                }
+                return completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CompletionException(e);
+            }
+        }
+
+        private void fill() {
+            // The run handing out results as they complete only keeps the pending jobs for cancellation
+            if (!ordered) submitted.removeIf(pending -> pending.response().isDone());
+            while (inFlight < parallelism && jobs.hasNext()) {
+                submitted.addLast(submit(jobs.next()));
+                inFlight++;
+            }
+        }
+
+        private Pending<K> submit(Job<K> job) {
+            CompletableFuture<ResponseEntity<InputStream>> response = new CompletableFuture<>();
+            Future<?> task = executor.submit(() -> {
+                try {
+                    ResponseEntity<InputStream> result = job.call().apply(client);
+                    // Arrived after the timeout or a cancellation, nobody will read it
+                    if (!response.complete(result)) closeQuietly(result);
+                } catch (Throwable e) {
+                    response.completeExceptionally(e);
+                }
+            });
+            response.orTimeout(jobTimeout.toNanos(), TimeUnit.NANOSECONDS).whenComplete((result, error) -> {
+                if (error != null) task.cancel(true);
+                if (!ordered) completed.add(new Result<>(job.key(), result, error));
+            });
+            return new Pending<>(job.key(), response);
+        }
+
+        void cancel() {
+            for (Pending<K> pending : submitted) {
+                if (!pending.response().cancel(true)) {
+                    ResponseEntity<InputStream> response = pending.response().getNow(null);
+                    if (response != null) closeQuietly(response);
+                }
+            }
+            submitted.clear();
+            Result<K> result;
+            while ((result = completed.poll()) != null) {
+                if (result.response() != null) closeQuietly(result.response());
+            }
+        }
+    }
+
+    private record Pending<K>(K key, CompletableFuture<ResponseEntity<InputStream>> response) {
+    }
+
+    private static void closeQuietly(ResponseEntity<InputStream> response) {
+        InputStream body = response.getBody();
+        if (body == null) return;
+        try {
+            body.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// Client-side admission limit per [GotenbergModule].
+///
+/// Gotenberg only runs a handful of Chromium and LibreOffice processes per node. Requests beyond that
+/// queue on the server until they time out. This interceptor holds them on the client instead: at most
+/// `maxConcurrent` requests per module are in flight, up to `maxQueueSize` wait for a permit, and anything
+/// else (or anything waiting longer than `queueTimeout`) fails fast with a [GotenbergRejectedException].
+///
+/// In front of a [GotenbergNodePool], the limits and floors apply to each node currently available, so they
+/// shrink when a node is ejected and grow back when it returns.
+///
+/// The permit is released as soon as the response headers are received, since the server-side slot is
+/// free by the time the body is streamed back.
+///
+/// Waiting requests are queued per [GotenbergPriority] and a freed permit goes to the next one according to
+/// the [Scheduling]: the class of service with the highest priority (strict), or the one that received the
+/// least of its weighted share (weighted-fair). Each class can be guaranteed a floor of permits the other
+/// classes cannot take, and a request waiting longer than the aging delay goes first whatever its class,
+/// so that bulk work is never starved. With a single class of service, requests are admitted in FIFO order.
+/// The priority is read from the [PriorityGotenbergClient] the request went through, requests of a client
+/// built without one are interactive.
+public class GotenbergBulkhead implements ClientHttpRequestInterceptor {
+    private static final GotenbergPriority[] PRIORITIES = GotenbergPriority.values();
+
+    private final Map<GotenbergModule, Lane> lanes = new EnumMap<>(GotenbergModule.class);
+    private final int maxQueueSize;
+    private final long queueTimeoutNanos;
+    private final Scheduling scheduling;
+    private @Nullable GotenbergNodePool nodePool;
+
+    /// How permits are shared between classes of service.
+    ///
+    /// @param mode   how the next waiting request is picked
+    /// @param weights share of the permits of each class under [Mode#WEIGHTED], classes absent from the map weigh `1`
+    /// @param floors permits reserved to each class, per module, classes absent from the map have none
+    /// @param aging  time after which a waiting request goes first whatever its class
+    public record Scheduling(Mode mode, Map<GotenbergPriority, Integer> weights, Map<GotenbergPriority, Integer> floors,
+                             Duration aging) {
+        /// Interactive requests get four permits for each one of bulk requests, with no floors, aged after 5 seconds.
+        public static final Scheduling DEFAULT = new Scheduling(Mode.WEIGHTED,
+                Map.of(GotenbergPriority.INTERACTIVE, 4, GotenbergPriority.BULK, 1), Map.of(), Duration.ofSeconds(5));
+
+        public enum Mode {
+            /// Always the waiting request of the highest priority, bulk requests only get the leftovers.
+            STRICT,
+            /// Each class in proportion to its weight, as long as it has requests waiting.
+            WEIGHTED
+        }
+    }
+
+    /// @param maxConcurrent maximum number of requests in flight per module, modules absent from the map are not limited
+    /// @param maxQueueSize  maximum number of requests waiting for a permit per module
+    /// @param queueTimeout  maximum time a request waits for a permit
+    public GotenbergBulkhead(Map<GotenbergModule, Integer> maxConcurrent, int maxQueueSize, Duration queueTimeout) {
+        this(maxConcurrent, maxQueueSize, queueTimeout, Scheduling.DEFAULT);
+    }
+
+    /// @param maxConcurrent maximum number of requests in flight per module, modules absent from the map are not limited
+    /// @param maxQueueSize  maximum number of requests waiting for a permit per module
+    /// @param queueTimeout  maximum time a request waits for a permit
+    /// @param scheduling    how permits are shared between classes of service
+    public GotenbergBulkhead(Map<GotenbergModule, Integer> maxConcurrent, int maxQueueSize, Duration queueTimeout,
+                             Scheduling scheduling) {
+        if (scheduling.weights().values().stream().anyMatch(weight -> weight < 1)) {
+            throw new IllegalArgumentException("Weights must be at least 1");
+        }
+        int floors = scheduling.floors().values().stream().mapToInt(Integer::intValue).sum();
+        maxConcurrent.forEach((module, limit) -> {
+            if (floors > limit) {
+                throw new IllegalArgumentException("Floors of %d permits exceed the %s limit of %d".formatted(floors, module, limit));
+            }
+            lanes.put(module, new Lane(module, limit));
+        });
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.scheduling = scheduling;
+    }
+
+    /// Applies the limits and floors to each node of the pool currently taking requests for the module, so that
+    /// the nodes left do not get the share of an ejected one. At least one node is counted.
+    void setNodePool(GotenbergNodePool nodePool) {
+        this.nodePool = nodePool;
+    }
+
+    /// Whether any module is limited. A bulkhead that limits nothing does not need to be installed.
+    public boolean isLimiting() {
+        return !lanes.isEmpty();
+    }
+
+    /// The modules with a concurrency limit.
+    public Set<GotenbergModule> getLimitedModules() {
+        return lanes.keySet();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        GotenbergPriority priority = PriorityGotenbergClient.current();
+        GotenbergModule module = GotenbergModule.of(request.getURI().getPath());
+        Lane lane = module != null ? lanes.get(module) : null;
+        if (lane == null) return execution.execute(request, body);
+
+        long queued = System.nanoTime();
+        lane.acquire(module, priority);
+        GotenbergExchangeStats.recordQueueWait(System.nanoTime() - queued);
+        try {
+            return execution.execute(request, body);
+        } finally {
+            lane.release(priority);
+        }
+    }
+
+    //region Metrics
+
+    /// Number of requests waiting for a permit.
+    public int getQueueDepth(GotenbergModule module) {
+        Lane lane = lanes.get(module);
+        return lane != null ? lane.queuedTotal : 0;
+    }
+
+    /// Number of requests of the given class of service waiting for a permit.
+    public int getQueueDepth(GotenbergModule module, GotenbergPriority priority) {
+        Lane lane = lanes.get(module);
+        return lane != null ? lane.queued[priority.ordinal()] : 0;
+    }
+
+    /// Number of requests holding a permit.
+    public int getActive(GotenbergModule module) {
+        Lane lane = lanes.get(module);
+        return lane != null ? lane.activeTotal : 0;
+    }
+
+    /// Number of requests of the given class of service holding a permit.
+    public int getActive(GotenbergModule module, GotenbergPriority priority) {
+        Lane lane = lanes.get(module);
+        return lane != null ? lane.active[priority.ordinal()] : 0;
+    }
+
+    /// Number of requests that were admitted, whether they had to wait or not.
+    public long getAdmittedCount(GotenbergModule module) {
+        Lane lane = lanes.get(module);
+        return lane != null ? lane.admitted.sum() : 0;
+    }
+
+    /// Total time admitted requests spent waiting for a permit.
+    public double getTotalWaitTime(GotenbergModule module, TimeUnit unit) {
+        Lane lane = lanes.get(module);
+        return lane != null ? (double) lane.waitNanos.sum() / unit.toNanos(1) : 0;
+    }
+
+    /// Number of requests rejected because the queue was full or the queue timeout elapsed.
+    public long getRejectedCount(GotenbergModule module) {
+        Lane lane = lanes.get(module);
+        return lane != null ? lane.rejected.sum() : 0;
+    }
+    //endregion
+
+    private final class Lane {
+        final GotenbergModule module;
+        final int limit;
+        // Number of nodes the limit and floors apply to, as of the last dispatch
+        int nodes = 1;
+        final ReentrantLock lock = new ReentrantLock();
+        final ArrayDeque<Waiter>[] waiting;
+        final int[] queued = new int[PRIORITIES.length];
+        final int[] active = new int[PRIORITIES.length];
+        // Virtual time of each class under weighted-fair scheduling, the class furthest behind goes next
+        final double[] pass = new double[PRIORITIES.length];
+        double virtualTime;
+        volatile int queuedTotal;
+        volatile int activeTotal;
+        final LongAdder admitted = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        @SuppressWarnings("unchecked")
+        Lane(GotenbergModule module, int limit) {
+            this.module = module;
+            this.limit = limit;
+            this.waiting = new ArrayDeque[PRIORITIES.length];
+            for (int i = 0; i < waiting.length; i++) waiting[i] = new ArrayDeque<>();
+        }
+
+        void acquire(GotenbergModule module, GotenbergPriority priority) throws InterruptedIOException {
+            long start = System.nanoTime();
+            Waiter waiter = new Waiter(priority, start, lock.newCondition());
+            lock.lock();
+            try {
+                enqueue(waiter);
+                dispatch();
+                if (waiter.granted) {
+                    admitted.increment();
+                    return;
+                }
+                if (queuedTotal > maxQueueSize) {
+                    remove(waiter);
+                    throw reject(module, "queue is full (%d waiting)".formatted(maxQueueSize));
+                }
+                long remaining = queueTimeoutNanos;
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        remove(waiter);
+                        throw reject(module, "no permit within %d ms".formatted(TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos)));
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+                admitted.increment();
+                waitNanos.add(System.nanoTime() - start);
+            } catch (InterruptedException e) {
+                // Granted while being interrupted, the permit goes to the next one
+                if (waiter.granted) releaseLocked(priority);
+                else remove(waiter);
+                Thread.currentThread().interrupt();
+                InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a %s permit".formatted(module));
+                exception.initCause(e);
+                throw exception;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(GotenbergPriority priority) {
+            lock.lock();
+            try {
+                releaseLocked(priority);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void releaseLocked(GotenbergPriority priority) {
+            active[priority.ordinal()]--;
+            activeTotal--;
+            dispatch();
+        }
+
+        private void enqueue(Waiter waiter) {
+            int index = waiter.priority.ordinal();
+            // A class coming back from idle does not get credit for the time it had nothing to send
+            if (waiting[index].isEmpty()) pass[index] = Math.max(pass[index], virtualTime);
+            waiting[index].addLast(waiter);
+            queued[index]++;
+            queuedTotal++;
+        }
+
+        private void remove(Waiter waiter) {
+            if (waiting[waiter.priority.ordinal()].remove(waiter)) {
+                queued[waiter.priority.ordinal()]--;
+                queuedTotal--;
+            }
+        }
+
+        /// Hands free permits to waiting requests, as long as some can be admitted.
+        private void dispatch() {
+            long now = System.nanoTime();
+            GotenbergNodePool pool = nodePool;
+            nodes = pool != null ? Math.max(1, pool.getAvailableCount(module)) : 1;
+            while (activeTotal < limit * nodes && queuedTotal > 0) {
+                Waiter next = next(now);
+                if (next == null) return;
+                int index = next.priority.ordinal();
+                waiting[index].removeFirst();
+                queued[index]--;
+                queuedTotal--;
+                active[index]++;
+                activeTotal++;
+                virtualTime = pass[index];
+                pass[index] += 1.0 / scheduling.weights().getOrDefault(next.priority, 1);
+                next.granted = true;
+                next.condition.signal();
+            }
+        }
+
+        private @Nullable Waiter next(long now) {
+            // Aged requests first, oldest first
+            Waiter oldest = null;
+            for (GotenbergPriority priority : PRIORITIES) {
+                Waiter head = waiting[priority.ordinal()].peekFirst();
+                if (head != null && admissible(priority) && (oldest == null || head.enqueuedAt - oldest.enqueuedAt < 0)) {
+                    oldest = head;
+                }
+            }
+            if (oldest != null && now - oldest.enqueuedAt >= scheduling.aging().toNanos()) return oldest;
+            // Then classes below their floor, by priority
+            for (GotenbergPriority priority : PRIORITIES) {
+                Waiter head = waiting[priority.ordinal()].peekFirst();
+                if (head != null && active[priority.ordinal()] < floor(priority)) return head;
+            }
+            Waiter best = null;
+            for (GotenbergPriority priority : PRIORITIES) {
+                Waiter head = waiting[priority.ordinal()].peekFirst();
+                if (head == null || !admissible(priority)) continue;
+                if (scheduling.mode() == Scheduling.Mode.STRICT) return head;
+                if (best == null || pass[priority.ordinal()] < pass[best.priority.ordinal()]) best = head;
+            }
+            return best;
+        }
+
+        /// Whether a permit can go to the class without eating into the floors the other classes have not used.
+        private boolean admissible(GotenbergPriority priority) {
+            int reserved = 0;
+            for (GotenbergPriority other : PRIORITIES) {
+                if (other != priority) reserved += Math.max(0, floor(other) - active[other.ordinal()]);
+            }
+            return limit * nodes - activeTotal > reserved;
+        }
+
+        private int floor(GotenbergPriority priority) {
+            return scheduling.floors().getOrDefault(priority, 0) * nodes;
+        }
+
+        private GotenbergRejectedException reject(GotenbergModule module, String reason) {
+            rejected.increment();
+            return new GotenbergRejectedException(module, "Request to Gotenberg %s rejected: %s".formatted(module, reason));
+        }
+    }
+
+    private static final class Waiter {
+        final GotenbergPriority priority;
+        final long enqueuedAt;
+        final Condition condition;
+        boolean granted;
+
+        Waiter(GotenbergPriority priority, long enqueuedAt, Condition condition) {
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+            this.condition = condition;
+        }
+    }
+}
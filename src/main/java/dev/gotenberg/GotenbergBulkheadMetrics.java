@@ -0,0 +1,55 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/// Exposes the state of a [GotenbergBulkhead] as Micrometer meters, tagged by module and, for the lanes, by priority.
+public class GotenbergBulkheadMetrics implements MeterBinder {
+    private final GotenbergBulkhead bulkhead;
+
+    public GotenbergBulkheadMetrics(GotenbergBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (GotenbergModule module : bulkhead.getLimitedModules()) {
+            Gauge.builder("gotenberg.client.bulkhead.queued", bulkhead, b -> b.getQueueDepth(module))
+                    .description("Requests waiting for a permit")
+                    .tag("module", module.getValue())
+                    .register(registry);
+            Gauge.builder("gotenberg.client.bulkhead.active", bulkhead, b -> b.getActive(module))
+                    .description("Requests holding a permit")
+                    .tag("module", module.getValue())
+                    .register(registry);
+            FunctionTimer.builder("gotenberg.client.bulkhead.wait", bulkhead,
+                            b -> b.getAdmittedCount(module),
+                            b -> b.getTotalWaitTime(module, TimeUnit.NANOSECONDS),
+                            TimeUnit.NANOSECONDS)
+                    .description("Time admitted requests spent waiting for a permit")
+                    .tag("module", module.getValue())
+                    .register(registry);
+            FunctionCounter.builder("gotenberg.client.bulkhead.rejected", bulkhead, b -> b.getRejectedCount(module))
+                    .description("Requests rejected because the queue was full or timed out")
+                    .tag("module", module.getValue())
+                    .register(registry);
+            for (GotenbergPriority priority : GotenbergPriority.values()) {
+                Gauge.builder("gotenberg.client.bulkhead.lane.queued", bulkhead, b -> b.getQueueDepth(module, priority))
+                        .description("Requests of a priority waiting for a permit")
+                        .tag("module", module.getValue())
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(registry);
+                Gauge.builder("gotenberg.client.bulkhead.lane.active", bulkhead, b -> b.getActive(module, priority))
+                        .description("Requests of a priority holding a permit")
+                        .tag("module", module.getValue())
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(registry);
+            }
+        }
+    }
+}
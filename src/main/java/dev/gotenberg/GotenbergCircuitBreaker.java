@@ -0,0 +1,236 @@
+package dev.gotenberg;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Circuit breaker per node and per [GotenbergModule], failing requests immediately while a module of a node
+/// is known to be broken instead of waiting for its timeouts.
+///
+/// Each circuit keeps the outcome of the last `windowSize` requests. Once at least `minimumCalls` are known,
+/// the circuit opens when the share of failures (I/O errors and `5xx`) reaches `failureRateThreshold`, or the
+/// share of calls slower than `slowCallDuration` reaches `slowCallRateThreshold`. An open circuit rejects
+/// requests with a [GotenbergCircuitOpenException] for `openDuration`, then lets `halfOpenCalls` probes
+/// through: a single failed or slow probe opens it again, and it closes once all of them succeed.
+///
+/// A [GotenbergNodePool] does not route requests to an open circuit while another node is available. Every
+/// change of state is logged and published as a [StateTransition] application event.
+public class GotenbergCircuitBreaker implements ClientHttpRequestInterceptor, ApplicationEventPublisherAware {
+    private static final Log logger = LogFactory.getLog(GotenbergCircuitBreaker.class);
+    private static final byte FAILED = 1, SLOW = 2;
+
+    private final Map<CircuitKey, Circuit> circuits = new ConcurrentHashMap<>();
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private @Nullable ApplicationEventPublisher eventPublisher;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /// Published when the circuit of a module of a node changes state.
+    public record StateTransition(String node, GotenbergModule module, State from, State to) {
+    }
+
+    public GotenbergCircuitBreaker(double failureRateThreshold, double slowCallRateThreshold, Duration slowCallDuration,
+                                   int windowSize, int minimumCalls, Duration openDuration, int halfOpenCalls) {
+        if (minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Expected 1 <= minimumCalls <= windowSize");
+        }
+        if (halfOpenCalls < 1) throw new IllegalArgumentException("halfOpenCalls must be at least 1");
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        GotenbergModule module = GotenbergModule.of(request.getURI().getPath());
+        if (module == null) return execution.execute(request, body);
+
+        String node = request.getURI().getAuthority();
+        Circuit circuit = circuits.computeIfAbsent(new CircuitKey(node, module), Circuit::new);
+        if (!circuit.tryAcquire()) {
+            circuit.rejected.increment();
+            throw new GotenbergCircuitOpenException(node, module);
+        }
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            circuit.record(response.getStatusCode().is5xxServerError(), System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            // An aborted call says nothing about the node
+            if (e instanceof InterruptedIOException || Thread.currentThread().isInterrupted()) circuit.cancel();
+            else circuit.record(true, System.nanoTime() - start);
+            throw e;
+        } catch (RuntimeException e) {
+            // Rejected by a policy further down the chain, the request never reached the node
+            circuit.cancel();
+            throw e;
+        }
+    }
+
+    /// The state of the circuit of the given module of the given node, identified by its `host:port`.
+    public State getState(String node, GotenbergModule module) {
+        Circuit circuit = circuits.get(new CircuitKey(node, module));
+        return circuit != null ? circuit.state : State.CLOSED;
+    }
+
+    /// Number of requests rejected by the circuit of the given module of the given node.
+    public long getRejectedCount(String node, GotenbergModule module) {
+        Circuit circuit = circuits.get(new CircuitKey(node, module));
+        return circuit != null ? circuit.rejected.sum() : 0;
+    }
+
+    /// Whether a request for the module would currently be let through to the node.
+    boolean isCallPermitted(String node, @Nullable GotenbergModule module) {
+        if (module == null) return true;
+        Circuit circuit = circuits.get(new CircuitKey(node, module));
+        return circuit == null || circuit.isCallPermitted();
+    }
+
+    private void publish(@Nullable StateTransition transition) {
+        if (transition == null) return;
+        logger.warn("Circuit of Gotenberg %s on %s is now %s (was %s)"
+                .formatted(transition.module(), transition.node(), transition.to(), transition.from()));
+        if (eventPublisher != null) eventPublisher.publishEvent(transition);
+    }
+
+    private record CircuitKey(String node, GotenbergModule module) {
+    }
+
+    private final class Circuit {
+        private final CircuitKey key;
+        private final byte[] outcomes = new byte[windowSize];
+        private final LongAdder rejected = new LongAdder();
+        private volatile State state = State.CLOSED;
+        private int index;
+        private int count;
+        private int failures;
+        private int slowCalls;
+        private volatile long openedAt;
+        private volatile int probesIssued;
+        private int probesSucceeded;
+
+        Circuit(CircuitKey key) {
+            this.key = key;
+        }
+
+        boolean isCallPermitted() {
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> System.nanoTime() - openedAt >= openNanos;
+                case HALF_OPEN -> probesIssued < halfOpenCalls;
+            };
+        }
+
+        boolean tryAcquire() {
+            StateTransition transition = null;
+            boolean permitted;
+            synchronized (this) {
+                if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                    transition = transition(State.HALF_OPEN);
+                    probesIssued = 0;
+                    probesSucceeded = 0;
+                }
+                permitted = switch (state) {
+                    case CLOSED -> true;
+                    case OPEN -> false;
+                    case HALF_OPEN -> {
+                        if (probesIssued == halfOpenCalls) yield false;
+                        probesIssued++;
+                        yield true;
+                    }
+                };
+            }
+            publish(transition);
+            return permitted;
+        }
+
+        void record(boolean failed, long elapsedNanos) {
+            boolean slow = elapsedNanos >= slowCallNanos;
+            StateTransition transition = null;
+            synchronized (this) {
+                switch (state) {
+                    case HALF_OPEN -> {
+                        if (failed || slow) transition = open();
+                        else if (++probesSucceeded >= halfOpenCalls) transition = close();
+                    }
+                    case CLOSED -> {
+                        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+                        if (count == windowSize) {
+                            byte evicted = outcomes[index];
+                            if ((evicted & FAILED) != 0) failures--;
+                            if ((evicted & SLOW) != 0) slowCalls--;
+                        } else {
+                            count++;
+                        }
+                        outcomes[index] = outcome;
+                        index = (index + 1) % windowSize;
+                        if (failed) failures++;
+                        if (slow) slowCalls++;
+                        if (count >= minimumCalls && ((double) failures / count >= failureRateThreshold
+                                || (double) slowCalls / count >= slowCallRateThreshold)) {
+                            transition = open();
+                        }
+                    }
+                    case OPEN -> {
+                        // A call sent before the circuit opened, it is already accounted for
+                    }
+                }
+            }
+            publish(transition);
+        }
+
+        synchronized void cancel() {
+            if (state == State.HALF_OPEN && probesIssued > probesSucceeded) probesIssued--;
+        }
+
+        private StateTransition open() {
+            openedAt = System.nanoTime();
+            return transition(State.OPEN);
+        }
+
+        private StateTransition close() {
+            index = 0;
+            count = 0;
+            failures = 0;
+            slowCalls = 0;
+            return transition(State.CLOSED);
+        }
+
+        private StateTransition transition(State to) {
+            StateTransition transition = new StateTransition(key.node(), key.module(), state, to);
+            state = to;
+            return transition;
+        }
+    }
+}
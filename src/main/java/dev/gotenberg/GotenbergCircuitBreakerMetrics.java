@@ -0,0 +1,43 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+
+/// Exposes the state and rejections of a [GotenbergCircuitBreaker] as Micrometer meters, tagged by node and module.
+///
+/// The state gauge is `1` for the current state of a circuit and `0` for the others.
+public class GotenbergCircuitBreakerMetrics implements MeterBinder {
+    private final GotenbergCircuitBreaker circuitBreaker;
+    private final List<String> nodes;
+
+    /// @param nodes the `host:port` of each node the circuit breaker applies to
+    public GotenbergCircuitBreakerMetrics(GotenbergCircuitBreaker circuitBreaker, List<String> nodes) {
+        this.circuitBreaker = circuitBreaker;
+        this.nodes = nodes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String node : nodes) {
+            for (GotenbergModule module : GotenbergModule.values()) {
+                for (GotenbergCircuitBreaker.State state : GotenbergCircuitBreaker.State.values()) {
+                    Gauge.builder("gotenberg.client.circuit.state", circuitBreaker, c -> c.getState(node, module) == state ? 1 : 0)
+                            .description("Current state of the circuit")
+                            .tag("node", node)
+                            .tag("module", module.getValue())
+                            .tag("state", state.name().toLowerCase())
+                            .register(registry);
+                }
+                FunctionCounter.builder("gotenberg.client.circuit.rejections", circuitBreaker, c -> c.getRejectedCount(node, module))
+                        .description("Requests rejected while the circuit was open")
+                        .tag("node", node)
+                        .tag("module", module.getValue())
+                        .register(registry);
+            }
+        }
+    }
+}
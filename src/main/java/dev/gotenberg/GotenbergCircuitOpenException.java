@@ -0,0 +1,16 @@
+package dev.gotenberg;
+
+/// Thrown instead of sending a request to a module of a node whose circuit is open.
+public class GotenbergCircuitOpenException extends GotenbergRejectedException {
+    private final String node;
+
+    public GotenbergCircuitOpenException(String node, GotenbergModule module) {
+        super(module, "Request to Gotenberg %s on %s rejected: circuit open".formatted(module, node));
+        this.node = node;
+    }
+
+    /// The `host:port` of the node whose circuit is open.
+    public String getNode() {
+        return node;
+    }
+}
@@ -6,12 +6,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.service.annotation.HttpExchange;
 import org.springframework.web.service.annotation.PostExchange;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +31,10 @@ import static org.springframework.http.MediaType.*;
 
 /// Spring HTTP Interface for Gotenberg API.
 /// Reference: <a href="https://gotenberg.dev/docs/routes">Routes</a>
+///
+/// Every route has an exchange method taking the form, and an overload also taking request headers, such as
+/// the `Gotenberg-Webhook-*` ones. The overload falls back to the form-only method when there are no headers,
+/// so implementations of the form-only methods keep working.
 @SuppressWarnings("unused")
 @HttpExchange(accept = APPLICATION_PDF_VALUE)
 public interface GotenbergClient {
@@ -33,25 +49,77 @@ public interface GotenbergClient {
     }
 
     default ResponseEntity<InputStream> convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
-        return convertHtml(new ChromiumConvertOptions(options).file("index.html", indexHtml).parts);
+        ChromiumConvertOptions request = new ChromiumConvertOptions(options).file("index.html", indexHtml);
+        return convertHtml(request.parts, request.headers);
     }
 
     default ResponseEntity<InputStream> convertUrl(String url, @Nullable ChromiumConvertOptions options) {
-        return convertUrl(new ChromiumConvertOptions(options).add("url", url).parts);
+        ChromiumConvertOptions request = new ChromiumConvertOptions(options).add("url", url);
+        return convertUrl(request.parts, request.headers);
     }
 
     default ResponseEntity<InputStream> convertMarkdown(ChromiumConvertOptions options) {
-        return convertMarkdown(options.parts);
+        return convertMarkdown(options.parts, options.headers);
+    }
+
+    default ResponseEntity<Path> convertHtmlTo(Path target, String indexHtml, @Nullable ChromiumConvertOptions options) {
+        return transferTo(target, convertHtml(indexHtml, options));
+    }
+
+    default ResponseEntity<Path> convertHtmlTo(Path target, byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
+        return transferTo(target, convertHtml(indexHtml, options));
+    }
+
+    default ResponseEntity<Path> convertUrlTo(Path target, String url, @Nullable ChromiumConvertOptions options) {
+        return transferTo(target, convertUrl(url, options));
+    }
+
+    default ResponseEntity<Path> convertMarkdownTo(Path target, ChromiumConvertOptions options) {
+        return transferTo(target, convertMarkdown(options));
+    }
+
+    default <T> T convertHtml(String indexHtml, @Nullable ChromiumConvertOptions options, BodyHandler<T> handler) {
+        return handle(convertHtml(indexHtml, options), handler);
+    }
+
+    default <T> T convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options, BodyHandler<T> handler) {
+        return handle(convertHtml(indexHtml, options), handler);
+    }
+
+    default <T> T convertUrl(String url, @Nullable ChromiumConvertOptions options, BodyHandler<T> handler) {
+        return handle(convertUrl(url, options), handler);
+    }
+
+    default <T> T convertMarkdown(ChromiumConvertOptions options, BodyHandler<T> handler) {
+        return handle(convertMarkdown(options), handler);
     }
 
     @PostExchange(url = "/forms/chromium/convert/html", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> convertHtml(@RequestBody MultiValueMap<String, Object> body);
 
+    @PostExchange(url = "/forms/chromium/convert/html", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> convertHtml(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return convertHtml(body);
+    }
+
     @PostExchange(url = "/forms/chromium/convert/url", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> convertUrl(@RequestBody MultiValueMap<String, Object> body);
 
+    @PostExchange(url = "/forms/chromium/convert/url", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> convertUrl(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return convertUrl(body);
+    }
+
     @PostExchange(url = "/forms/chromium/convert/markdown", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> convertMarkdown(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/convert/markdown", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> convertMarkdown(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return convertMarkdown(body);
+    }
     //endregion
 
 
@@ -66,25 +134,77 @@ public interface GotenbergClient {
     }
 
     default ResponseEntity<InputStream> screenshotHtml(byte[] indexHtml, @Nullable ChromiumScreenshotOptions options) {
-        return screenshotHtml(new ChromiumScreenshotOptions(options).file("index.html", indexHtml).parts);
+        ChromiumScreenshotOptions request = new ChromiumScreenshotOptions(options).file("index.html", indexHtml);
+        return screenshotHtml(request.parts, request.headers);
     }
 
     default ResponseEntity<InputStream> screenshotUrl(String url, @Nullable ChromiumScreenshotOptions options) {
-        return screenshotUrl(new ChromiumScreenshotOptions(options).add("url", url).parts);
+        ChromiumScreenshotOptions request = new ChromiumScreenshotOptions(options).add("url", url);
+        return screenshotUrl(request.parts, request.headers);
     }
 
     default ResponseEntity<InputStream> screenshotMarkdown(ChromiumScreenshotOptions options) {
-        return screenshotMarkdown(options.parts);
+        return screenshotMarkdown(options.parts, options.headers);
+    }
+
+    default ResponseEntity<Path> screenshotHtmlTo(Path target, String indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return transferTo(target, screenshotHtml(indexHtml, options));
+    }
+
+    default ResponseEntity<Path> screenshotHtmlTo(Path target, byte[] indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return transferTo(target, screenshotHtml(indexHtml, options));
+    }
+
+    default ResponseEntity<Path> screenshotUrlTo(Path target, String url, @Nullable ChromiumScreenshotOptions options) {
+        return transferTo(target, screenshotUrl(url, options));
+    }
+
+    default ResponseEntity<Path> screenshotMarkdownTo(Path target, ChromiumScreenshotOptions options) {
+        return transferTo(target, screenshotMarkdown(options));
+    }
+
+    default <T> T screenshotHtml(String indexHtml, @Nullable ChromiumScreenshotOptions options, BodyHandler<T> handler) {
+        return handle(screenshotHtml(indexHtml, options), handler);
+    }
+
+    default <T> T screenshotHtml(byte[] indexHtml, @Nullable ChromiumScreenshotOptions options, BodyHandler<T> handler) {
+        return handle(screenshotHtml(indexHtml, options), handler);
+    }
+
+    default <T> T screenshotUrl(String url, @Nullable ChromiumScreenshotOptions options, BodyHandler<T> handler) {
+        return handle(screenshotUrl(url, options), handler);
+    }
+
+    default <T> T screenshotMarkdown(ChromiumScreenshotOptions options, BodyHandler<T> handler) {
+        return handle(screenshotMarkdown(options), handler);
     }
 
     @PostExchange(url = "/forms/chromium/screenshot/url", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
     ResponseEntity<InputStream> screenshotUrl(@RequestBody MultiValueMap<String, Object> body);
 
+    @PostExchange(url = "/forms/chromium/screenshot/url", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    default ResponseEntity<InputStream> screenshotUrl(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return screenshotUrl(body);
+    }
+
     @PostExchange(url = "/forms/chromium/screenshot/html", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
     ResponseEntity<InputStream> screenshotHtml(@RequestBody MultiValueMap<String, Object> body);
 
+    @PostExchange(url = "/forms/chromium/screenshot/html", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    default ResponseEntity<InputStream> screenshotHtml(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return screenshotHtml(body);
+    }
+
     @PostExchange(url = "/forms/chromium/screenshot/markdown", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
     ResponseEntity<InputStream> screenshotMarkdown(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/screenshot/markdown", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    default ResponseEntity<InputStream> screenshotMarkdown(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return screenshotMarkdown(body);
+    }
     //endregion
 
 
@@ -95,11 +215,25 @@ public interface GotenbergClient {
     }
 
     default ResponseEntity<InputStream> convertLibreOffice(LibreOfficeOptions options) {
-        return convertLibreOffice(options.parts);
+        return convertLibreOffice(options.parts, options.headers);
+    }
+
+    default ResponseEntity<Path> convertLibreOfficeTo(Path target, LibreOfficeOptions options) {
+        return transferTo(target, convertLibreOffice(options));
+    }
+
+    default <T> T convertLibreOffice(LibreOfficeOptions options, BodyHandler<T> handler) {
+        return handle(convertLibreOffice(options), handler);
     }
 
     @PostExchange(url = "/forms/libreoffice/convert", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> convertLibreOffice(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/libreoffice/convert", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> convertLibreOffice(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return convertLibreOffice(body);
+    }
     //endregion
 
 
@@ -109,48 +243,142 @@ public interface GotenbergClient {
     }
 
     default ResponseEntity<InputStream> pdfMerge(PdfMergeOptions options) {
-        return pdfMerge(options.parts);
+        return pdfMerge(options.parts, options.headers);
+    }
+
+    default ResponseEntity<Path> pdfMergeTo(Path target, PdfMergeOptions options) {
+        return transferTo(target, pdfMerge(options));
+    }
+
+    default <T> T pdfMerge(PdfMergeOptions options, BodyHandler<T> handler) {
+        return handle(pdfMerge(options), handler);
     }
 
     @PostExchange(url = "/forms/pdfengines/merge", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> pdfMerge(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/merge", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> pdfMerge(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return pdfMerge(body);
+    }
     //endregion
 
     //region PDF Convert
     static PdfConvertOptions pdfConvertOptions() {
         return new PdfConvertOptions(null);
     }
+
     default ResponseEntity<InputStream> pdfConvert(PdfConvertOptions options) {
-        return pdfConvert(options.parts);
+        return pdfConvert(options.parts, options.headers);
     }
+
+    default ResponseEntity<Path> pdfConvertTo(Path target, PdfConvertOptions options) {
+        return transferTo(target, pdfConvert(options));
+    }
+
+    default <T> T pdfConvert(PdfConvertOptions options, BodyHandler<T> handler) {
+        return handle(pdfConvert(options), handler);
+    }
+
     @PostExchange(url = "/forms/pdfengines/convert", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> pdfConvert(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/convert", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> pdfConvert(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return pdfConvert(body);
+    }
     //endregion
 
     //region PDF Read Metadata
     static PdfReadMetadataOptions readMetadataOptions() {
         return new PdfReadMetadataOptions(null);
     }
+
     default ResponseEntity<Map<String, Map<String, Object>>> readMetadata(PdfReadMetadataOptions options) {
-        return readMetadata(options.parts);
+        return readMetadata(options.parts, options.headers);
     }
+
     @PostExchange(url = "/forms/pdfengines/metadata/read", contentType = MULTIPART_FORM_DATA_VALUE, accept = APPLICATION_JSON_VALUE)
     ResponseEntity<Map<String, Map<String, Object>>> readMetadata(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/metadata/read", contentType = MULTIPART_FORM_DATA_VALUE, accept = APPLICATION_JSON_VALUE)
+    default ResponseEntity<Map<String, Map<String, Object>>> readMetadata(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return readMetadata(body);
+    }
     //endregion
 
     //region PDF Write Metadata
     static PdfWriteMetadataOptions writeMetadataOptions() {
         return new PdfWriteMetadataOptions(null);
     }
+
     default ResponseEntity<InputStream> writeMetadata(PdfWriteMetadataOptions options) {
-        return writeMetadata(options.parts);
+        return writeMetadata(options.parts, options.headers);
     }
+
+    default ResponseEntity<Path> writeMetadataTo(Path target, PdfWriteMetadataOptions options) {
+        return transferTo(target, writeMetadata(options));
+    }
+
+    default <T> T writeMetadata(PdfWriteMetadataOptions options, BodyHandler<T> handler) {
+        return handle(writeMetadata(options), handler);
+    }
+
     @PostExchange(url = "/forms/pdfengines/metadata/write", contentType = MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<InputStream> writeMetadata(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/metadata/write", contentType = MULTIPART_FORM_DATA_VALUE)
+    default ResponseEntity<InputStream> writeMetadata(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        requireNoHeaders(headers);
+        return writeMetadata(body);
+    }
     //endregion
 
+    /// Implementations predating the header-carrying exchange methods can only send requests without headers.
+    private static void requireNoHeaders(MultiValueMap<String, String> headers) {
+        if (!headers.isEmpty()) {
+            throw new UnsupportedOperationException("This GotenbergClient does not send request headers: " + headers.keySet());
+        }
+    }
+
+    /// Streams the body of the response into the target file, without holding it in memory.
+    /// The target is created or truncated, and deleted if the transfer fails.
+    private static ResponseEntity<Path> transferTo(Path target, ResponseEntity<InputStream> response) {
+        try (InputStream in = response.getBody();
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (in != null) out.transferFrom(Channels.newChannel(in), 0, Long.MAX_VALUE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new ResourceAccessException("I/O error while writing Gotenberg response to " + target + ": " + e.getMessage(), e);
+        }
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(target);
+    }
+
+    /// Passes the body of the response to the handler and closes it, releasing the connection, whether the
+    /// handler read it to the end, returned early or threw.
+    private static <T> T handle(ResponseEntity<InputStream> response, BodyHandler<T> handler) {
+        try (InputStream in = response.getBody() != null ? response.getBody() : InputStream.nullInputStream()) {
+            return handler.handle(in);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error while reading Gotenberg response: " + e.getMessage(), e);
+        }
+    }
+
 
     //region Models
+    /// Reads the body of a response, which is closed once the handler returns.
+    @FunctionalInterface
+    interface BodyHandler<T> {
+        T handle(InputStream body) throws IOException;
+    }
+
     enum PdfAFormat {
         A1B("PDF/A-1b"),
         A2B("PDF/A-2b"),
@@ -209,11 +437,34 @@ public interface GotenbergClient {
 
 
     abstract class Options<O extends Options<O>> {
-        final LinkedMultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
-        final LinkedMultiValueMap<String, Object> headers = new LinkedMultiValueMap<>();
+        final FormParts parts;
+        final LinkedMultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
 
         public Options(@Nullable O copy) {
-            if (copy != null) parts.putAll(copy.parts);
+            if (copy != null) {
+                // Lists are copied, adding a file to the copy must not add it to the original. The immutable
+                // lists of an OptionsTemplate are shared until written to.
+                parts = new FormParts(copy.parts);
+                copy.headers.forEach(headers::addAll);
+            } else {
+                parts = new FormParts();
+            }
+        }
+
+        /// New options of the same type holding the same parts and headers. Subclasses declared elsewhere are
+        /// copied through their public copy constructor.
+        O copy() {
+            try {
+                //noinspection unchecked
+                return (O) getClass().getConstructor(getClass()).newInstance(this);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(getClass().getName() + " has no public copy constructor", e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                throw new IllegalStateException(e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
         }
 
         public O add(String key, Object value) {
@@ -222,6 +473,38 @@ public interface GotenbergClient {
             return (O) this;
         }
 
+        /// Adds an HTTP header to the request, such as `Gotenberg-Trace` or one of the `Gotenberg-Webhook-*` headers.
+        public O header(String name, String value) {
+            headers.add(name, value);
+            //noinspection unchecked
+            return (O) this;
+        }
+
+        /// Gives up on the request at the given instant, aborting the exchange so that Gotenberg stops working on it.
+        /// A `waitDelay` longer than the time left is shortened. Enforced by [DeadlineGotenbergClient], not sent to
+        /// Gotenberg.
+        public O deadline(Instant deadline) {
+            parts.setDeadline(deadline);
+            //noinspection unchecked
+            return (O) this;
+        }
+
+        /// Sets the class of service of the request, interactive by default. Bulk requests give way to interactive
+        /// ones when they wait for the same [GotenbergBulkhead] permits. Not sent to Gotenberg.
+        public O priority(GotenbergPriority priority) {
+            parts.setPriority(priority);
+            //noinspection unchecked
+            return (O) this;
+        }
+
+        /// Gives up on the request once `timeout` elapsed from the moment it is sent, see [#deadline(Instant)]. The
+        /// timeout stays relative, so options and templates can be reused.
+        public O timeout(Duration timeout) {
+            parts.setTimeout(timeout);
+            //noinspection unchecked
+            return (O) this;
+        }
+
         public O file(String filename, String content) {
             return file(filename, content.getBytes(StandardCharsets.UTF_8));
         }
@@ -238,6 +521,16 @@ public interface GotenbergClient {
             return add("files", resource);
         }
 
+        /// Uploads the file at the given path, streaming it from disk when the request is sent.
+        public O file(Path path) {
+            return file(path.getFileName().toString(), path);
+        }
+
+        /// Uploads the file at the given path under another name, streaming it from disk when the request is sent.
+        public O file(String filename, Path path) {
+            return add("files", new FileSystemResource(path, filename));
+        }
+
 
         public O embed(String filename, String content) {
             return file(filename, content.getBytes(StandardCharsets.UTF_8));
@@ -254,6 +547,14 @@ public interface GotenbergClient {
         public O embed(Resource resource) {
             return add("embeds", resource);
         }
+
+        public O embed(Path path) {
+            return embed(path.getFileName().toString(), path);
+        }
+
+        public O embed(String filename, Path path) {
+            return add("embeds", new FileSystemResource(path, filename));
+        }
     }
 
     class ChromiumScreenshotOptions extends Options<ChromiumScreenshotOptions> {
@@ -262,6 +563,11 @@ public interface GotenbergClient {
             super(copy);
         }
 
+        @Override
+        ChromiumScreenshotOptions copy() {
+            return new ChromiumScreenshotOptions(this);
+        }
+
         /**
          * The device width of the screenshot (in pixels).
          */
@@ -400,6 +706,11 @@ public interface GotenbergClient {
             super(copy);
         }
 
+        @Override
+        ChromiumConvertOptions copy() {
+            return new ChromiumConvertOptions(this);
+        }
+
         /**
          * Whether to print the entire content in one single page.
          */
@@ -661,6 +972,11 @@ public interface GotenbergClient {
             super(copy);
         }
 
+        @Override
+        LibreOfficeOptions copy() {
+            return new LibreOfficeOptions(this);
+        }
+
         /**
          * Set the password for opening the source file.
          */
@@ -904,6 +1220,11 @@ public interface GotenbergClient {
             super(copy);
         }
 
+        @Override
+        PdfMergeOptions copy() {
+            return new PdfMergeOptions(this);
+        }
+
         /**
          * Convert the resulting PDF into the given PDF/A format.
          */
@@ -952,6 +1273,11 @@ public interface GotenbergClient {
             super(copy);
         }
 
+        @Override
+        PdfConvertOptions copy() {
+            return new PdfConvertOptions(this);
+        }
+
         /**
          * Convert the resulting PDF into the given PDF/A format.
          */
@@ -972,6 +1298,11 @@ public interface GotenbergClient {
         public PdfReadMetadataOptions(@Nullable PdfReadMetadataOptions copy) {
             super(copy);
         }
+
+        @Override
+        PdfReadMetadataOptions copy() {
+            return new PdfReadMetadataOptions(this);
+        }
     }
 
     class PdfWriteMetadataOptions extends Options<PdfWriteMetadataOptions> {
@@ -979,7 +1310,13 @@ public interface GotenbergClient {
         public PdfWriteMetadataOptions(@Nullable PdfWriteMetadataOptions copy) {
             super(copy);
             metadata = new LinkedMultiValueMap<>();
-            add("metadata", metadata);
+            if (copy != null) copy.metadata.forEach((key, values) -> metadata.put(key, new ArrayList<>(values)));
+            parts.set("metadata", metadata);
+        }
+
+        @Override
+        PdfWriteMetadataOptions copy() {
+            return new PdfWriteMetadataOptions(this);
         }
 
         public PdfWriteMetadataOptions metadata(String key, Object value) {
@@ -0,0 +1,141 @@
+package dev.gotenberg;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/// Base class for [GotenbergClient] implementations adding behaviour around another client.
+///
+/// Every route returning a file goes through [#exchange(GotenbergRoute, MultiValueMap, MultiValueMap, Call)],
+/// whether it was called with headers or not, so a decorator only has to implement that method. The JSON
+/// returned by `readMetadata` is passed through unless the method is overridden.
+public abstract class GotenbergClientDecorator implements GotenbergClient {
+    protected final GotenbergClient delegate;
+
+    protected GotenbergClientDecorator(GotenbergClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /// Sends the form and headers of the given route, calling `call` to forward them to the delegate.
+    protected abstract ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                            MultiValueMap<String, String> headers, Call call);
+
+    @Override
+    public ResponseEntity<InputStream> convertHtml(MultiValueMap<String, Object> body) {
+        return convertHtml(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertHtml(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.CHROMIUM_CONVERT_HTML, body, headers, delegate::convertHtml);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertUrl(MultiValueMap<String, Object> body) {
+        return convertUrl(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertUrl(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.CHROMIUM_CONVERT_URL, body, headers, delegate::convertUrl);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertMarkdown(MultiValueMap<String, Object> body) {
+        return convertMarkdown(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertMarkdown(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.CHROMIUM_CONVERT_MARKDOWN, body, headers, delegate::convertMarkdown);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> screenshotUrl(MultiValueMap<String, Object> body) {
+        return screenshotUrl(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> screenshotUrl(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.CHROMIUM_SCREENSHOT_URL, body, headers, delegate::screenshotUrl);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> screenshotHtml(MultiValueMap<String, Object> body) {
+        return screenshotHtml(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> screenshotHtml(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.CHROMIUM_SCREENSHOT_HTML, body, headers, delegate::screenshotHtml);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> screenshotMarkdown(MultiValueMap<String, Object> body) {
+        return screenshotMarkdown(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> screenshotMarkdown(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.CHROMIUM_SCREENSHOT_MARKDOWN, body, headers, delegate::screenshotMarkdown);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertLibreOffice(MultiValueMap<String, Object> body) {
+        return convertLibreOffice(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> convertLibreOffice(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.LIBREOFFICE_CONVERT, body, headers, delegate::convertLibreOffice);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> pdfMerge(MultiValueMap<String, Object> body) {
+        return pdfMerge(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> pdfMerge(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.PDF_ENGINES_MERGE, body, headers, delegate::pdfMerge);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> pdfConvert(MultiValueMap<String, Object> body) {
+        return pdfConvert(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> pdfConvert(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.PDF_ENGINES_CONVERT, body, headers, delegate::pdfConvert);
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Map<String, Object>>> readMetadata(MultiValueMap<String, Object> body) {
+        return readMetadata(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Map<String, Object>>> readMetadata(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return delegate.readMetadata(body, headers);
+    }
+
+    @Override
+    public ResponseEntity<InputStream> writeMetadata(MultiValueMap<String, Object> body) {
+        return writeMetadata(body, new LinkedMultiValueMap<>());
+    }
+
+    @Override
+    public ResponseEntity<InputStream> writeMetadata(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        return exchange(GotenbergRoute.PDF_ENGINES_WRITE_METADATA, body, headers, delegate::writeMetadata);
+    }
+
+    /// Forwards a form and its headers to the delegate.
+    @FunctionalInterface
+    protected interface Call {
+        ResponseEntity<InputStream> apply(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers);
+    }
+}
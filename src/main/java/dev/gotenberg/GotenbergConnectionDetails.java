@@ -2,6 +2,13 @@ package dev.gotenberg;
 
 import org.springframework.boot.autoconfigure.service.connection.ConnectionDetails;
 
+import java.util.List;
+
 public interface GotenbergConnectionDetails extends ConnectionDetails {
     String baseUrl();
+
+    /// The base URLs of all the Gotenberg nodes requests are spread over. Defaults to the single [#baseUrl()].
+    default List<String> nodes() {
+        return List.of(baseUrl());
+    }
 }
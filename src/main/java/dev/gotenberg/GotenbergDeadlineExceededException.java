@@ -0,0 +1,21 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.client.RestClientException;
+
+/// Thrown when a request set with [GotenbergClient.Options#deadline(java.time.Instant)] runs out of time.
+///
+/// The exchange is aborted when this is thrown, so Gotenberg stops working on the abandoned conversion.
+public class GotenbergDeadlineExceededException extends RestClientException {
+    private final GotenbergRoute route;
+
+    public GotenbergDeadlineExceededException(GotenbergRoute route, @Nullable Throwable cause) {
+        super("Deadline exceeded for " + route.getPath(), cause);
+        this.route = route;
+    }
+
+    /// The route the request was sent to.
+    public GotenbergRoute getRoute() {
+        return route;
+    }
+}
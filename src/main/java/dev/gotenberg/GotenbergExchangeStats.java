@@ -0,0 +1,63 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+
+/// What the exchange policies learn about the request being sent on the current thread: the node it was
+/// routed to and how long it waited for admission. A [HedgingGotenbergClient] also uses it to keep a
+/// duplicate request off the node of the request it duplicates.
+///
+/// The interceptors run on the thread calling the client, so an [ObservingGotenbergClient] opens the stats
+/// before the call and reads them back once the response headers are in. Recording is a no-op when no
+/// stats are open.
+final class GotenbergExchangeStats implements AutoCloseable {
+    private static final ThreadLocal<GotenbergExchangeStats> CURRENT = new ThreadLocal<>();
+
+    private final @Nullable GotenbergExchangeStats previous;
+    private volatile @Nullable String node;
+    private volatile long queueWaitNanos;
+    private @Nullable String avoidedNode;
+
+    private GotenbergExchangeStats(@Nullable GotenbergExchangeStats previous) {
+        this.previous = previous;
+    }
+
+    static GotenbergExchangeStats open() {
+        GotenbergExchangeStats stats = new GotenbergExchangeStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) CURRENT.set(previous);
+        else CURRENT.remove();
+    }
+
+    static void recordNode(String node) {
+        GotenbergExchangeStats stats = CURRENT.get();
+        if (stats != null) stats.node = node;
+    }
+
+    /// The node the request on the current thread should not be routed to, if another one is available.
+    static @Nullable String avoidedNode() {
+        GotenbergExchangeStats stats = CURRENT.get();
+        return stats != null ? stats.avoidedNode : null;
+    }
+
+    void avoidNode(@Nullable String node) {
+        this.avoidedNode = node;
+    }
+
+    static void recordQueueWait(long nanos) {
+        GotenbergExchangeStats stats = CURRENT.get();
+        if (stats != null) stats.queueWaitNanos += nanos;
+    }
+
+    @Nullable String getNode() {
+        return node;
+    }
+
+    long getQueueWaitNanos() {
+        return queueWaitNanos;
+    }
+}
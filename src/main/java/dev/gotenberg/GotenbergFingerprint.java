@@ -0,0 +1,106 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/// SHA-256 of a request: its route and every part of its form, in order, with file parts hashed by content.
+///
+/// Two requests with the same fingerprint produce the same result on a deterministic route. Forms holding
+/// a part that can only be read once, such as an `InputStream`, have no fingerprint.
+final class GotenbergFingerprint {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private GotenbergFingerprint() {
+    }
+
+    static @Nullable String of(GotenbergRoute route, MultiValueMap<String, Object> parts) {
+        MessageDigest digest = newDigest();
+        update(digest, 'p', route.getPath());
+        try {
+            for (Map.Entry<String, List<Object>> part : parts.entrySet()) {
+                update(digest, 'k', part.getKey());
+                for (Object value : part.getValue()) {
+                    if (!update(digest, value)) return null;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read part to fingerprint the request", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean update(MessageDigest digest, @Nullable Object value) throws IOException {
+        switch (value) {
+            case null -> update(digest, 'n', "");
+            case CharSequence string -> update(digest, 's', string.toString());
+            case Number number -> update(digest, 's', number.toString());
+            case Boolean bool -> update(digest, 's', bool.toString());
+            case Enum<?> constant -> update(digest, 's', constant.toString());
+            case org.springframework.core.io.ByteArrayResource resource -> {
+                update(digest, 'f', String.valueOf(resource.getFilename()));
+                digest.update(resource.getByteArray());
+            }
+            case Resource resource when !resource.isOpen() -> {
+                update(digest, 'f', String.valueOf(resource.getFilename()));
+                try (InputStream in = resource.getInputStream()) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) digest.update(buffer, 0, read);
+                }
+            }
+            // Fields pre-encoded by an OptionsTemplate hash like the value they were encoded from
+            case HttpEntity<?> entity when entity.getBody() instanceof byte[] bytes
+                    && MediaType.TEXT_PLAIN.isCompatibleWith(entity.getHeaders().getContentType()) ->
+                    update(digest, 's', new String(bytes, StandardCharsets.UTF_8));
+            case Map<?, ?> map -> {
+                update(digest, 'm', String.valueOf(map.size()));
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    update(digest, 'k', String.valueOf(entry.getKey()));
+                    if (!update(digest, entry.getValue())) return false;
+                }
+            }
+            case Collection<?> collection -> {
+                update(digest, 'c', String.valueOf(collection.size()));
+                for (Object element : collection) {
+                    if (!update(digest, element)) return false;
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void update(MessageDigest digest, char type, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) type);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
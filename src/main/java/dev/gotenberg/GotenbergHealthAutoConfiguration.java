@@ -0,0 +1,21 @@
+package dev.gotenberg;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+
+
+@AutoConfiguration(after = GotenbergAutoConfiguration.class)
+@ConditionalOnClass(HealthIndicator.class)
+class GotenbergHealthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(GotenbergNodePool.class)
+    @ConditionalOnMissingBean(name = "gotenbergHealthIndicator")
+    GotenbergHealthIndicator gotenbergHealthIndicator(GotenbergNodePool gotenbergNodePool) {
+        return new GotenbergHealthIndicator(gotenbergNodePool);
+    }
+}
@@ -0,0 +1,36 @@
+package dev.gotenberg;
+
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/// Reports the availability of the Gotenberg nodes as seen by the client.
+///
+/// The application is `UP` as long as at least one node is in rotation. Each node is detailed with its
+/// version, whether it is ejected, and the modules its last health check reported down.
+public class GotenbergHealthIndicator extends AbstractHealthIndicator {
+    private final GotenbergNodePool pool;
+
+    public GotenbergHealthIndicator(GotenbergNodePool pool) {
+        super("Gotenberg health check failed");
+        this.pool = pool;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean anyAvailable = false;
+        Map<String, Object> nodes = new LinkedHashMap<>();
+        for (GotenbergNodePool.Node node : pool.getNodes()) {
+            boolean available = !node.isEjected();
+            anyAvailable |= available;
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", available ? "UP" : "DOWN");
+            if (node.getVersion() != null) details.put("version", node.getVersion());
+            if (!node.getDownModules().isEmpty()) details.put("downModules", node.getDownModules());
+            nodes.put(node.getUri().toString(), details);
+        }
+        (anyAvailable ? builder.up() : builder.down()).withDetail("nodes", nodes);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.gotenberg;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/// Polls the `/health` route of every node of a [GotenbergNodePool].
+///
+/// The version of each node is read from `/version` on start. Then, every `interval`, a node that cannot be
+/// reached or reports itself down is ejected from the pool, and the modules it reports down (a wedged
+/// Chromium, a crashed LibreOffice) stop receiving requests for that module until a later check finds them up.
+public class GotenbergHealthProber implements SmartLifecycle {
+    private static final Log logger = LogFactory.getLog(GotenbergHealthProber.class);
+    private static final ParameterizedTypeReference<Map<String, Object>> HEALTH_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private final GotenbergNodePool pool;
+    private final Duration interval;
+    private final RestClient restClient;
+    private @Nullable ScheduledExecutorService scheduler;
+
+    /// @param interval time between two checks of the same node
+    /// @param timeout  maximum time a check may take before the node is considered down
+    public GotenbergHealthProber(GotenbergNodePool pool, Duration interval, Duration timeout) {
+        this.pool = pool;
+        this.interval = interval;
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("gotenberg-health").factory());
+        scheduler.execute(this::readVersions);
+        scheduler.scheduleWithFixedDelay(this::probeAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    void readVersions() {
+        for (GotenbergNodePool.Node node : pool.getNodes()) {
+            try {
+                String version = restClient.get().uri(node.getUri() + "/version")
+                        .accept(MediaType.TEXT_PLAIN)
+                        .retrieve()
+                        .body(String.class);
+                if (version != null) {
+                    node.setVersion(version.strip());
+                    logger.info("Gotenberg node %s runs version %s".formatted(node, node.getVersion()));
+                }
+            } catch (RestClientException e) {
+                logger.warn("Could not read the version of Gotenberg node %s: %s".formatted(node, e.getMessage()));
+            }
+        }
+    }
+
+    void probeAll() {
+        for (GotenbergNodePool.Node node : pool.getNodes()) {
+            probe(node);
+        }
+    }
+
+    void probe(GotenbergNodePool.Node node) {
+        Map<String, Object> health;
+        try {
+            // Gotenberg answers 503 with the same body when a module is down
+            health = restClient.get().uri(node.getUri() + "/health")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange((request, response) -> response.bodyTo(HEALTH_TYPE));
+        } catch (RestClientException e) {
+            if (!node.isEjected()) logger.warn("Gotenberg node %s is unreachable: %s".formatted(node, e.getMessage()));
+            pool.eject(node);
+            return;
+        }
+        if (health == null) {
+            pool.eject(node);
+            return;
+        }
+
+        Set<GotenbergModule> down = EnumSet.noneOf(GotenbergModule.class);
+        if (health.get("details") instanceof Map<?, ?> details) {
+            for (GotenbergModule module : GotenbergModule.values()) {
+                if (details.get(module.getValue()) instanceof Map<?, ?> moduleHealth && !"up".equals(moduleHealth.get("status"))) {
+                    down.add(module);
+                }
+            }
+        }
+        if (!down.equals(node.getDownModules())) {
+            if (down.isEmpty()) logger.info("Gotenberg node %s is healthy again".formatted(node));
+            else logger.warn("Gotenberg node %s reports %s down".formatted(node, down));
+        }
+        node.setDownModules(down);
+        if (down.isEmpty() && !"up".equals(health.get("status"))) pool.eject(node);
+    }
+}
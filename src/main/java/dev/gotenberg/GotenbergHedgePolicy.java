@@ -0,0 +1,115 @@
+package dev.gotenberg;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/// When a [HedgingGotenbergClient] sends a duplicate of a slow request, and how many it may send.
+///
+/// The time to the response headers of recent requests is kept per route, and a request still waiting past
+/// the configured percentile of those is hedged. Hedges are paid from a budget earning `budget` of a hedge
+/// per request, so they never add more than that fraction of extra load, with bursts of at most
+/// [#MAX_BURST] hedges after a quiet period.
+public class GotenbergHedgePolicy {
+    /// Number of recent latencies the percentile is computed over, per route.
+    static final int WINDOW = 512;
+    /// Number of latencies recorded for a route before any of its requests is hedged.
+    static final int MIN_SAMPLES = 32;
+    /// Maximum number of hedges the budget can save up.
+    static final int MAX_BURST = 10;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long HEDGE_COST = 1_000_000;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long creditPerRequest;
+    private final Map<GotenbergRoute, Window> windows = new EnumMap<>(GotenbergRoute.class);
+    private final AtomicLong credit = new AtomicLong();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    /// @param percentile percentile of recent latencies after which a request is hedged, such as `0.95`
+    /// @param minDelay   minimum time to wait before hedging, whatever the recent latencies
+    /// @param budget     maximum number of hedges per request, such as `0.05`
+    public GotenbergHedgePolicy(double percentile, Duration minDelay, double budget) {
+        if (percentile <= 0 || percentile >= 1) throw new IllegalArgumentException("percentile must be between 0 and 1");
+        if (budget < 0 || budget > 1) throw new IllegalArgumentException("budget must be between 0 and 1");
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.creditPerRequest = (long) (budget * HEDGE_COST);
+        for (GotenbergRoute route : GotenbergRoute.values()) windows.put(route, new Window());
+    }
+
+    /// Number of duplicate requests sent.
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /// Number of duplicate requests that answered before the request they duplicated.
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /// Number of slow requests that were not hedged because the budget was spent.
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    /// How long to wait for the response headers before hedging, or `-1` while too few latencies are known.
+    long hedgeDelayNanos(GotenbergRoute route) {
+        long threshold = windows.get(route).threshold;
+        return threshold < 0 ? -1 : Math.max(threshold, minDelayNanos);
+    }
+
+    void recordLatency(GotenbergRoute route, long nanos) {
+        windows.get(route).record(nanos, percentile);
+    }
+
+    /// Earns a fraction of a hedge for a request that may be hedged.
+    void recordRequest() {
+        credit.getAndUpdate(value -> Math.min(value + creditPerRequest, MAX_BURST * HEDGE_COST));
+    }
+
+    /// Spends a hedge, `false` when the budget cannot afford one.
+    boolean tryAcquireHedge() {
+        long value;
+        do {
+            value = credit.get();
+            if (value < HEDGE_COST) {
+                budgetExhausted.increment();
+                return false;
+            }
+        } while (!credit.compareAndSet(value, value - HEDGE_COST));
+        hedges.increment();
+        return true;
+    }
+
+    void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /// The latest latencies of a route, with the percentile recomputed every [#RECOMPUTE_EVERY] samples.
+    private static final class Window {
+        private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long threshold = -1;
+
+        void record(long nanos, double percentile) {
+            long n = count.getAndIncrement();
+            samples.set((int) (n % WINDOW), nanos);
+            long recorded = n + 1;
+            if (recorded >= MIN_SAMPLES && recorded % RECOMPUTE_EVERY == 0) {
+                int size = (int) Math.min(recorded, WINDOW);
+                long[] sorted = new long[size];
+                for (int i = 0; i < size; i++) sorted[i] = samples.get(i);
+                Arrays.sort(sorted);
+                threshold = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/// Exposes the hedges sent, won and denied by a [GotenbergHedgePolicy] as Micrometer meters.
+public class GotenbergHedgePolicyMetrics implements MeterBinder {
+    private final GotenbergHedgePolicy policy;
+
+    public GotenbergHedgePolicyMetrics(GotenbergHedgePolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gotenberg.client.hedges", policy, GotenbergHedgePolicy::getHedgeCount)
+                .description("Duplicates sent for late requests").tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.hedges", policy, GotenbergHedgePolicy::getHedgeWinCount)
+                .description("Duplicates sent for late requests").tag("result", "won")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.hedges", policy, GotenbergHedgePolicy::getBudgetExhaustedCount)
+                .description("Duplicates sent for late requests").tag("result", "denied")
+                .register(registry);
+    }
+}
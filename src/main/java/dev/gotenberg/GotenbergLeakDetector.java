@@ -0,0 +1,101 @@
+package dev.gotenberg;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Detects response bodies that were never closed, each of which holds a connection of the pool.
+///
+/// Every body handed out by a [LeakDetectingGotenbergClient] is tracked until it is closed. A body that is
+/// garbage collected while still open is reported as a warning, with the stack trace of the call that received
+/// it when allocation sites are captured, and the underlying stream is closed so that its connection goes back
+/// to the pool. Capturing allocation sites costs a stack walk per call.
+public class GotenbergLeakDetector {
+    private static final Log logger = LogFactory.getLog(GotenbergLeakDetector.class);
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final boolean captureAllocationSite;
+    private final AtomicInteger open = new AtomicInteger();
+    private final LongAdder leaked = new LongAdder();
+
+    /// @param captureAllocationSite whether to record where each leaked body was received
+    public GotenbergLeakDetector(boolean captureAllocationSite) {
+        this.captureAllocationSite = captureAllocationSite;
+    }
+
+    /// Wraps `body` so that it is reported if it is never closed.
+    InputStream track(InputStream body, GotenbergRoute route) {
+        Leak leak = new Leak(body, route, captureAllocationSite ? new Throwable("Response body received here") : null);
+        open.incrementAndGet();
+        TrackedInputStream tracked = new TrackedInputStream(body, leak);
+        tracked.cleanable = CLEANER.register(tracked, leak);
+        return tracked;
+    }
+
+    /// Number of response bodies handed out and not closed yet.
+    public int getOpenCount() {
+        return open.get();
+    }
+
+    /// Number of response bodies garbage collected without being closed.
+    public long getLeakCount() {
+        return leaked.sum();
+    }
+
+    /// Cleaning action, run once either when the body is closed or when it is found unreachable. It must not
+    /// reference the tracked stream, or the stream would never become unreachable.
+    private final class Leak implements Runnable {
+        private final InputStream body;
+        private final GotenbergRoute route;
+        private final @Nullable Throwable allocationSite;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Leak(InputStream body, GotenbergRoute route, @Nullable Throwable allocationSite) {
+            this.body = body;
+            this.route = route;
+            this.allocationSite = allocationSite;
+        }
+
+        @Override
+        public void run() {
+            open.decrementAndGet();
+            if (closed.get()) return;
+            leaked.increment();
+            String message = "Response body of Gotenberg %s was not closed, its connection is released now".formatted(route.getPath());
+            if (allocationSite != null) logger.warn(message, allocationSite);
+            else logger.warn(message + ". Enable gotenberg.leak-detection.capture-allocation-site to find where it was received");
+            try {
+                body.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static final class TrackedInputStream extends FilterInputStream {
+        private final Leak leak;
+        private Cleaner.@Nullable Cleanable cleanable;
+
+        TrackedInputStream(InputStream in, Leak leak) {
+            super(in);
+            this.leak = leak;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!leak.closed.compareAndSet(false, true)) return;
+            try {
+                super.close();
+            } finally {
+                if (cleanable != null) cleanable.clean();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/// Exposes the open and leaked response bodies seen by a [GotenbergLeakDetector] as Micrometer meters.
+public class GotenbergLeakDetectorMetrics implements MeterBinder {
+    private final GotenbergLeakDetector detector;
+
+    public GotenbergLeakDetectorMetrics(GotenbergLeakDetector detector) {
+        this.detector = detector;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gotenberg.client.responses.open", detector, GotenbergLeakDetector::getOpenCount)
+                .description("Response bodies handed out and not closed yet")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.responses.leaked", detector, GotenbergLeakDetector::getLeakCount)
+                .description("Response bodies garbage collected without being closed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+
+
+@AutoConfiguration(after = GotenbergAutoConfiguration.class)
+@ConditionalOnClass(MeterBinder.class)
+class GotenbergMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(GotenbergBulkhead.class)
+    @ConditionalOnMissingBean
+    GotenbergBulkheadMetrics gotenbergBulkheadMetrics(GotenbergBulkhead gotenbergBulkhead) {
+        return new GotenbergBulkheadMetrics(gotenbergBulkhead);
+    }
+
+    @Bean
+    @ConditionalOnBean({GotenbergAdaptiveLimiter.class, GotenbergNodePool.class})
+    @ConditionalOnMissingBean
+    GotenbergAdaptiveLimiterMetrics gotenbergAdaptiveLimiterMetrics(GotenbergAdaptiveLimiter gotenbergAdaptiveLimiter,
+                                                                    GotenbergNodePool gotenbergNodePool) {
+        List<String> nodes = gotenbergNodePool.getNodes().stream().map(GotenbergNodePool.Node::getId).toList();
+        return new GotenbergAdaptiveLimiterMetrics(gotenbergAdaptiveLimiter, nodes);
+    }
+
+    @Bean
+    @ConditionalOnBean({GotenbergCircuitBreaker.class, GotenbergNodePool.class})
+    @ConditionalOnMissingBean
+    GotenbergCircuitBreakerMetrics gotenbergCircuitBreakerMetrics(GotenbergCircuitBreaker gotenbergCircuitBreaker,
+                                                                  GotenbergNodePool gotenbergNodePool) {
+        List<String> nodes = gotenbergNodePool.getNodes().stream().map(GotenbergNodePool.Node::getId).toList();
+        return new GotenbergCircuitBreakerMetrics(gotenbergCircuitBreaker, nodes);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergNodePool.class)
+    @ConditionalOnMissingBean
+    GotenbergNodePoolMetrics gotenbergNodePoolMetrics(GotenbergNodePool gotenbergNodePool) {
+        return new GotenbergNodePoolMetrics(gotenbergNodePool);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergResultCache.class)
+    @ConditionalOnMissingBean
+    GotenbergResultCacheMetrics gotenbergResultCacheMetrics(GotenbergResultCache gotenbergResultCache) {
+        return new GotenbergResultCacheMetrics(gotenbergResultCache);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergHedgePolicy.class)
+    @ConditionalOnMissingBean
+    GotenbergHedgePolicyMetrics gotenbergHedgePolicyMetrics(GotenbergHedgePolicy gotenbergHedgePolicy) {
+        return new GotenbergHedgePolicyMetrics(gotenbergHedgePolicy);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergResponseBuffer.class)
+    @ConditionalOnMissingBean
+    GotenbergResponseBufferMetrics gotenbergResponseBufferMetrics(GotenbergResponseBuffer gotenbergResponseBuffer) {
+        return new GotenbergResponseBufferMetrics(gotenbergResponseBuffer);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergLeakDetector.class)
+    @ConditionalOnMissingBean
+    GotenbergLeakDetectorMetrics gotenbergLeakDetectorMetrics(GotenbergLeakDetector gotenbergLeakDetector) {
+        return new GotenbergLeakDetectorMetrics(gotenbergLeakDetector);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergTransport.class)
+    @ConditionalOnMissingBean
+    GotenbergTransportMetrics gotenbergTransportMetrics(GotenbergTransport gotenbergTransport) {
+        return new GotenbergTransportMetrics(gotenbergTransport);
+    }
+
+    @Bean
+    @ConditionalOnBean(GotenbergClient.class)
+    @ConditionalOnMissingBean
+    GotenbergObservationMetrics gotenbergObservationMetrics() {
+        return new GotenbergObservationMetrics();
+    }
+}
@@ -0,0 +1,37 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+
+/// The Gotenberg modules doing the work behind each route. Each module runs its own, scarce, set of
+/// processes on the server, so client-side concurrency is tracked per module.
+public enum GotenbergModule {
+    CHROMIUM("chromium", "/forms/chromium/"),
+    LIBREOFFICE("libreoffice", "/forms/libreoffice/"),
+    PDF_ENGINES("pdfengines", "/forms/pdfengines/");
+
+    private final String value;
+    private final String pathPrefix;
+
+    GotenbergModule(String value, String pathPrefix) {
+        this.value = value;
+        this.pathPrefix = pathPrefix;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /// The module serving the given request path, or `null` for routes that do not convert anything
+    /// (`/health`, `/version`...).
+    public static @Nullable GotenbergModule of(String path) {
+        for (GotenbergModule module : values()) {
+            if (path.contains(module.pathPrefix)) return module;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
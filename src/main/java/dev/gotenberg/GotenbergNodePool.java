@@ -0,0 +1,267 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/// Spreads requests over several Gotenberg nodes.
+///
+/// Requests are built against the base URL of the client and rewritten by this interceptor to the node
+/// with the fewest outstanding requests. Outstanding requests are weighted by module, since a LibreOffice
+/// conversion keeps a node far busier than a PDF engines call. Ties are broken randomly.
+///
+/// Nodes are taken out of rotation when they fail `failureThreshold` requests in a row (I/O error or `5xx`),
+/// or when a [GotenbergHealthProber] finds them down. An ejected node gets another chance once its ejection
+/// backoff elapses; the backoff doubles on every ejection until a request succeeds again. When every node
+/// is ejected, requests are spread over all of them rather than failed outright.
+public class GotenbergNodePool implements ClientHttpRequestInterceptor {
+    /// Default cost of an outstanding request, per module.
+    public static final Map<GotenbergModule, Integer> DEFAULT_WEIGHTS = Map.of(
+            GotenbergModule.CHROMIUM, 2,
+            GotenbergModule.LIBREOFFICE, 3,
+            GotenbergModule.PDF_ENGINES, 1);
+
+    private final String basePath;
+    private final List<Node> nodes;
+    private final Map<GotenbergModule, Integer> weights;
+    private final int failureThreshold;
+    private final long ejectionBackoffNanos;
+    private final long maxEjectionBackoffNanos;
+    private @Nullable GotenbergCircuitBreaker circuitBreaker;
+
+    /// @param baseUrl the base URL the client builds its requests against
+    /// @param nodes   the base URLs of the Gotenberg nodes
+    public GotenbergNodePool(String baseUrl, List<String> nodes) {
+        this(baseUrl, nodes, DEFAULT_WEIGHTS, 3, Duration.ofSeconds(5), Duration.ofMinutes(5));
+    }
+
+    /// @param baseUrl            the base URL the client builds its requests against
+    /// @param nodes              the base URLs of the Gotenberg nodes
+    /// @param weights            cost of an outstanding request, per module
+    /// @param failureThreshold   consecutive failed requests after which a node is ejected
+    /// @param ejectionBackoff    how long a node is ejected the first time
+    /// @param maxEjectionBackoff upper bound of the ejection time, which doubles on every ejection
+    public GotenbergNodePool(String baseUrl, List<String> nodes, Map<GotenbergModule, Integer> weights,
+                             int failureThreshold, Duration ejectionBackoff, Duration maxEjectionBackoff) {
+        if (nodes.isEmpty()) throw new IllegalArgumentException("At least one node is required");
+        this.basePath = trimTrailingSlash(URI.create(baseUrl).getRawPath());
+        this.nodes = nodes.stream().map(Node::new).toList();
+        this.weights = new EnumMap<>(weights);
+        this.failureThreshold = failureThreshold;
+        this.ejectionBackoffNanos = ejectionBackoff.toNanos();
+        this.maxEjectionBackoffNanos = maxEjectionBackoff.toNanos();
+    }
+
+    /// Keeps requests away from a module of a node while its circuit is open.
+    void setCircuitBreaker(GotenbergCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /// The nodes of the pool, in configuration order.
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /// Number of nodes currently taking requests for the module, neither ejected nor reported down.
+    public int getAvailableCount(@Nullable GotenbergModule module) {
+        long now = System.nanoTime();
+        int count = 0;
+        for (Node node : nodes) {
+            if (node.isAvailable(module, now)) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        GotenbergModule module = GotenbergModule.of(request.getURI().getPath());
+        Node node = select(module);
+        GotenbergExchangeStats.recordNode(node.getId());
+        URI target = resolve(node, request.getURI());
+        HttpRequest routed = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return target;
+            }
+        };
+        node.begin(module);
+        try {
+            ClientHttpResponse response = execution.execute(routed, body);
+            recordOutcome(node, response.getStatusCode().is5xxServerError());
+            return response;
+        } catch (IOException e) {
+            recordFailure(node);
+            throw e;
+        } finally {
+            node.end(module);
+        }
+    }
+
+    /// The URL of the request on the given node.
+    URI resolve(Node node, URI requestUri) {
+        return node.resolve(requestUri, basePath);
+    }
+
+    /// Counts a response of the node, failed when the status is `5xx`.
+    void recordOutcome(Node node, boolean failed) {
+        if (failed) recordFailure(node);
+        else node.recordSuccess();
+    }
+
+    /// The available node with the lowest weighted number of outstanding requests.
+    Node select(@Nullable GotenbergModule module) {
+        long now = System.nanoTime();
+        String avoided = GotenbergExchangeStats.avoidedNode();
+        Node best = select(module, now, true, avoided);
+        if (best == null && avoided != null) best = select(module, now, true, null);
+        return best != null ? best : select(module, now, false, null);
+    }
+
+    private @Nullable Node select(@Nullable GotenbergModule module, long now, boolean availableOnly, @Nullable String avoided) {
+        int size = nodes.size();
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        Node best = null;
+        long bestLoad = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Node node = nodes.get((offset + i) % size);
+            if (availableOnly && !node.isAvailable(module, now)) continue;
+            if (availableOnly && circuitBreaker != null && !circuitBreaker.isCallPermitted(node.id, module)) continue;
+            if (node.id.equals(avoided)) continue;
+            long load = node.load(weights);
+            if (load < bestLoad) {
+                best = node;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /// Counts a failed request against the node, ejecting it once `failureThreshold` failures happened in a row.
+    void recordFailure(Node node) {
+        if (node.consecutiveFailures.incrementAndGet() >= failureThreshold) eject(node);
+    }
+
+    /// Takes the node out of rotation for its current ejection backoff, then doubles that backoff.
+    void eject(Node node) {
+        synchronized (node) {
+            long now = System.nanoTime();
+            if (node.ejectedUntil - now > 0) return;
+            int ejections = node.ejections.getAndIncrement();
+            node.ejectedUntil = now + Math.min(ejectionBackoffNanos << Math.min(ejections, 20), maxEjectionBackoffNanos);
+            node.consecutiveFailures.set(0);
+        }
+    }
+
+    private static String trimTrailingSlash(@Nullable String path) {
+        if (path == null) return "";
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    public static final class Node {
+        private final URI uri;
+        private final String id;
+        private final AtomicIntegerArray outstanding = new AtomicIntegerArray(GotenbergModule.values().length);
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long ejectedUntil = System.nanoTime();
+        private final AtomicInteger ejections = new AtomicInteger();
+        private volatile Set<GotenbergModule> downModules = Set.of();
+        private volatile @Nullable String version;
+
+        Node(String url) {
+            this.uri = URI.create(trimTrailingSlash(url));
+            this.id = uri.getAuthority();
+        }
+
+        /// The base URL of the node.
+        public URI getUri() {
+            return uri;
+        }
+
+        /// The `host:port` of the node, used to tell nodes apart in metrics and logs.
+        public String getId() {
+            return id;
+        }
+
+        /// Number of requests sent to this node and not yet answered.
+        public int getOutstanding(GotenbergModule module) {
+            return outstanding.get(module.ordinal());
+        }
+
+        /// Whether the node is currently taken out of rotation.
+        public boolean isEjected() {
+            return ejectedUntil - System.nanoTime() > 0;
+        }
+
+        /// The modules the last health check reported as down.
+        public Set<GotenbergModule> getDownModules() {
+            return downModules;
+        }
+
+        /// The Gotenberg version reported by the node, if known.
+        public @Nullable String getVersion() {
+            return version;
+        }
+
+        void setDownModules(Set<GotenbergModule> downModules) {
+            this.downModules = downModules.isEmpty() ? Set.of() : Set.copyOf(downModules);
+        }
+
+        void setVersion(String version) {
+            this.version = version;
+        }
+
+        boolean isAvailable(@Nullable GotenbergModule module, long now) {
+            if (ejectedUntil - now > 0) return false;
+            return module == null || !downModules.contains(module);
+        }
+
+        /// Counts a request to the module as outstanding until [#end(GotenbergModule)].
+        void begin(@Nullable GotenbergModule module) {
+            if (module != null) outstanding.incrementAndGet(module.ordinal());
+        }
+
+        void end(@Nullable GotenbergModule module) {
+            if (module != null) outstanding.decrementAndGet(module.ordinal());
+        }
+
+        void recordSuccess() {
+            consecutiveFailures.set(0);
+            // Read first, so that the common case does not write to a shared cache line
+            if (ejections.get() > 0) ejections.set(0);
+        }
+
+        long load(Map<GotenbergModule, Integer> weights) {
+            long load = 0;
+            for (GotenbergModule module : GotenbergModule.values()) {
+                load += (long) outstanding.get(module.ordinal()) * weights.getOrDefault(module, 1);
+            }
+            return load;
+        }
+
+        URI resolve(URI requestUri, String basePath) {
+            String path = requestUri.getRawPath();
+            if (path.startsWith(basePath)) path = path.substring(basePath.length());
+            String query = requestUri.getRawQuery();
+            return URI.create(uri + path + (query != null ? "?" + query : ""));
+        }
+
+        @Override
+        public String toString() {
+            return uri.toString();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.gotenberg;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+/// Spreads the requests of a `WebClient` over the nodes of a [GotenbergNodePool], the way the pool does as
+/// the interceptor of a `RestClient`. Both clients share the outstanding requests and ejections of the nodes.
+final class GotenbergNodePoolFilter implements ExchangeFilterFunction {
+    private final GotenbergNodePool pool;
+
+    GotenbergNodePoolFilter(GotenbergNodePool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            GotenbergModule module = GotenbergModule.of(request.url().getPath());
+            GotenbergNodePool.Node node = pool.select(module);
+            ClientRequest routed = ClientRequest.from(request).url(pool.resolve(node, request.url())).build();
+            node.begin(module);
+            return next.exchange(routed)
+                    .doOnNext(response -> pool.recordOutcome(node, response.statusCode().is5xxServerError()))
+                    .doOnError(WebClientRequestException.class, _ -> pool.recordFailure(node))
+                    // Once the response headers arrived, failed or cancelled, like the blocking interceptor
+                    .doFinally(_ -> node.end(module));
+        });
+    }
+}
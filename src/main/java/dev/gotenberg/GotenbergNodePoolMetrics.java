@@ -0,0 +1,27 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/// Exposes the outstanding requests of each node of a [GotenbergNodePool] as Micrometer meters.
+public class GotenbergNodePoolMetrics implements MeterBinder {
+    private final GotenbergNodePool pool;
+
+    public GotenbergNodePoolMetrics(GotenbergNodePool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (GotenbergNodePool.Node node : pool.getNodes()) {
+            for (GotenbergModule module : GotenbergModule.values()) {
+                Gauge.builder("gotenberg.client.node.outstanding", node, n -> n.getOutstanding(module))
+                        .description("Requests sent to the node and not yet answered")
+                        .tag("node", node.getId())
+                        .tag("module", module.getValue())
+                        .register(registry);
+            }
+        }
+    }
+}
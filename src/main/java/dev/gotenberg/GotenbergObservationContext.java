@@ -0,0 +1,88 @@
+package dev.gotenberg;
+
+import io.micrometer.observation.Observation;
+import org.jspecify.annotations.Nullable;
+
+/// Context of the observation of a call to a Gotenberg route, filled in by [ObservingGotenbergClient].
+public class GotenbergObservationContext extends Observation.Context {
+    private final GotenbergRoute route;
+    private final String trace;
+    private final int partCount;
+    private final long payloadBytes;
+    private @Nullable String node;
+    private @Nullable Integer status;
+    private long queueWaitNanos;
+    private long timeToFirstByteNanos;
+    private long responseBytes;
+
+    public GotenbergObservationContext(GotenbergRoute route, String trace, int partCount, long payloadBytes) {
+        this.route = route;
+        this.trace = trace;
+        this.partCount = partCount;
+        this.payloadBytes = payloadBytes;
+    }
+
+    public GotenbergRoute getRoute() {
+        return route;
+    }
+
+    /// The `Gotenberg-Trace` header sent with the request, which Gotenberg writes to its logs.
+    public String getTrace() {
+        return trace;
+    }
+
+    /// Number of parts of the form.
+    public int getPartCount() {
+        return partCount;
+    }
+
+    /// Total size of the values and files of the form, or `-1` when a part can only be read once.
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    /// The `host:port` of the node the request was sent to.
+    public @Nullable String getNode() {
+        return node;
+    }
+
+    public void setNode(@Nullable String node) {
+        this.node = node;
+    }
+
+    /// The HTTP status of the response, or `null` when none was received.
+    public @Nullable Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(@Nullable Integer status) {
+        this.status = status;
+    }
+
+    /// Time spent waiting for the client-side concurrency limits.
+    public long getQueueWaitNanos() {
+        return queueWaitNanos;
+    }
+
+    public void setQueueWaitNanos(long queueWaitNanos) {
+        this.queueWaitNanos = queueWaitNanos;
+    }
+
+    /// Time from the start of the call until the response headers were received.
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    public void setTimeToFirstByteNanos(long timeToFirstByteNanos) {
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+    }
+
+    /// Number of bytes of the response body read by the caller.
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+}
@@ -0,0 +1,14 @@
+package dev.gotenberg;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+
+/// Naming and tagging of the observations of Gotenberg calls. Register a bean to replace
+/// [DefaultGotenbergObservationConvention].
+public interface GotenbergObservationConvention extends ObservationConvention<GotenbergObservationContext> {
+
+    @Override
+    default boolean supportsContext(Observation.Context context) {
+        return context instanceof GotenbergObservationContext;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.gotenberg;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// Records the sizes and phases of observed Gotenberg calls as Micrometer meters, next to the
+/// `gotenberg.client.requests` timer of the observation itself.
+///
+/// Both a [MeterBinder], to learn the registry, and an [ObservationHandler], to be notified when a call
+/// completes. Meters carry the low cardinality tags of the observation.
+public class GotenbergObservationMetrics implements MeterBinder, ObservationHandler<GotenbergObservationContext> {
+    private volatile @Nullable MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof GotenbergObservationContext;
+    }
+
+    @Override
+    public void onStop(GotenbergObservationContext context) {
+        MeterRegistry registry = this.registry;
+        if (registry == null) return;
+        Tags tags = tags(context);
+        if (context.getPayloadBytes() >= 0) {
+            DistributionSummary.builder("gotenberg.client.requests.payload")
+                    .description("Size of the values and files sent").baseUnit("bytes").tags(tags)
+                    .register(registry).record(context.getPayloadBytes());
+        }
+        DistributionSummary.builder("gotenberg.client.requests.parts")
+                .description("Number of parts of the form sent").tags(tags)
+                .register(registry).record(context.getPartCount());
+        DistributionSummary.builder("gotenberg.client.requests.response")
+                .description("Size of the response body read").baseUnit("bytes").tags(tags)
+                .register(registry).record(context.getResponseBytes());
+        Timer.builder("gotenberg.client.requests.queue.wait")
+                .description("Time spent waiting for the client-side concurrency limits").tags(tags)
+                .register(registry).record(context.getQueueWaitNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("gotenberg.client.requests.first.byte")
+                .description("Time until the response headers were received").tags(tags)
+                .register(registry).record(context.getTimeToFirstByteNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static Tags tags(GotenbergObservationContext context) {
+        List<Tag> tags = new ArrayList<>();
+        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+            tags.add(Tag.of(keyValue.getKey(), keyValue.getValue()));
+        }
+        return Tags.of(tags);
+    }
+}
@@ -0,0 +1,201 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import dev.gotenberg.GotenbergClient.LibreOfficeOptions;
+import dev.gotenberg.GotenbergClient.PdfConvertOptions;
+import dev.gotenberg.GotenbergClient.PdfMergeOptions;
+import dev.gotenberg.GotenbergClient.PdfWriteMetadataOptions;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/// Chains conversions, feeding the result of a stage as a file of the next one.
+///
+/// Every stage starts as soon as the stages it depends on are done, on its own virtual thread, so
+/// independent conversions run concurrently. Intermediate results stay on the heap up to the spill
+/// threshold and go to temporary files above it. They are released once the stage reading them is done.
+///
+/// ```java
+/// try (GotenbergPipeline pipeline = new GotenbergPipeline(gotenbergClient, 8 * 1024 * 1024)) {
+///     List<GotenbergPipeline.Stage> sections = htmlSections.stream()
+///             .map(html -> pipeline.convertHtml(html, options))
+///             .toList();
+///     GotenbergPipeline.Stage merged = pipeline.pdfMerge(sections, null);
+///     ResponseEntity<InputStream> pdf = pipeline.writeMetadata(merged, metadata).join();
+/// }
+/// ```
+///
+/// Each stage can be used as the input of a single other stage, or joined once.
+public class GotenbergPipeline implements AutoCloseable {
+    private final GotenbergClient client;
+    private final long spillThreshold;
+    private final ExecutorService executor;
+    private final Queue<Stage> stages = new ConcurrentLinkedQueue<>();
+
+    /// @param spillThreshold size above which an intermediate result is written to a temporary file
+    public GotenbergPipeline(GotenbergClient client, long spillThreshold) {
+        this.client = client;
+        this.spillThreshold = spillThreshold;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gotenberg-pipeline-", 0).factory());
+    }
+
+    //region Sources
+    public Stage convertHtml(String indexHtml, @Nullable ChromiumConvertOptions options) {
+        return source(() -> client.convertHtml(indexHtml, options));
+    }
+
+    public Stage convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
+        return source(() -> client.convertHtml(indexHtml, options));
+    }
+
+    public Stage convertUrl(String url, @Nullable ChromiumConvertOptions options) {
+        return source(() -> client.convertUrl(url, options));
+    }
+
+    public Stage convertMarkdown(ChromiumConvertOptions options) {
+        return source(() -> client.convertMarkdown(options));
+    }
+
+    public Stage convertLibreOffice(LibreOfficeOptions options) {
+        return source(() -> client.convertLibreOffice(options));
+    }
+    //endregion
+
+    //region Transformations
+
+    /// Merges the results of the given stages, in the order of the list.
+    public Stage pdfMerge(List<Stage> inputs, @Nullable PdfMergeOptions options) {
+        CompletableFuture<?>[] results = inputs.stream().map(Stage::claim).toArray(CompletableFuture<?>[]::new);
+        CompletableFuture<Output> merged = CompletableFuture.allOf(results).handleAsync((_, error) -> {
+            List<@Nullable Output> outputs = inputs.stream().map(Stage::getIfDone).toList();
+            try {
+                if (error != null) throw new CompletionException(error instanceof CompletionException e ? e.getCause() : error);
+                PdfMergeOptions request = new PdfMergeOptions(options);
+                // Gotenberg merges files in the alphanumeric order of their names
+                for (int i = 0; i < outputs.size(); i++) {
+                    //noinspection DataFlowIssue
+                    request.file(outputs.get(i).body().renamed("%05d.pdf".formatted(i)));
+                }
+                return spill(client.pdfMerge(request), "merged.pdf");
+            } finally {
+                outputs.forEach(GotenbergPipeline::release);
+            }
+        }, executor);
+        return stage(merged);
+    }
+
+    /// Writes metadata to the result of the given stage.
+    public Stage writeMetadata(Stage input, PdfWriteMetadataOptions options) {
+        return transform(input, body -> client.writeMetadata(new PdfWriteMetadataOptions(options).file(body)));
+    }
+
+    /// Converts the result of the given stage to PDF/A or PDF/UA.
+    public Stage pdfConvert(Stage input, PdfConvertOptions options) {
+        return transform(input, body -> client.pdfConvert(new PdfConvertOptions(options).file(body)));
+    }
+    //endregion
+
+    private Stage source(Supplier<ResponseEntity<InputStream>> call) {
+        return stage(CompletableFuture.supplyAsync(() -> spill(call.get(), "result.pdf"), executor));
+    }
+
+    private Stage transform(Stage input, Function<SpilledResource, ResponseEntity<InputStream>> call) {
+        return stage(input.claim().thenApplyAsync(output -> {
+            try {
+                return spill(call.apply(output.body()), output.body().getFilename());
+            } finally {
+                release(output);
+            }
+        }, executor));
+    }
+
+    private Stage stage(CompletableFuture<Output> result) {
+        Stage stage = new Stage(result);
+        stages.add(stage);
+        return stage;
+    }
+
+    private Output spill(ResponseEntity<InputStream> response, String filename) {
+        InputStream in = response.getBody();
+        if (in == null) throw new ResourceAccessException("Gotenberg returned an empty body for " + filename);
+        try (in) {
+            return new Output(response.getStatusCode(), response.getHeaders(), SpilledResource.of(in, filename, spillThreshold));
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error while reading Gotenberg response: " + e.getMessage(), e);
+        }
+    }
+
+    private static void release(@Nullable Output output) {
+        if (output == null) return;
+        try {
+            output.body().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /// Waits for the running stages and deletes the results nobody used.
+    @Override
+    public void close() {
+        executor.close();
+        for (Stage stage : stages) {
+            if (!stage.claimed.get()) release(stage.getIfDone());
+        }
+        stages.clear();
+    }
+
+    /// A conversion of the pipeline, running or done.
+    public static final class Stage {
+        private final CompletableFuture<Output> result;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Stage(CompletableFuture<Output> result) {
+            this.result = result;
+        }
+
+        /// Waits for the stage and returns its result. The temporary file, if any, is deleted once the body is closed.
+        public ResponseEntity<InputStream> join() {
+            return toFuture().join();
+        }
+
+        /// The result of the stage, as a future. The temporary file, if any, is deleted once the body is closed.
+        public CompletableFuture<ResponseEntity<InputStream>> toFuture() {
+            return claim().thenApply(output -> {
+                try {
+                    return ResponseEntity.status(output.status()).headers(output.headers()).body(output.body().openAndRelease());
+                } catch (IOException e) {
+                    release(output);
+                    throw new ResourceAccessException("I/O error while reading Gotenberg result: " + e.getMessage(), e);
+                }
+            });
+        }
+
+        private @Nullable Output getIfDone() {
+            return result.isDone() && !result.isCompletedExceptionally() ? result.join() : null;
+        }
+
+        private CompletableFuture<Output> claim() {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new IllegalStateException("The result of a pipeline stage can only be used once");
+            }
+            return result;
+        }
+    }
+
+    private record Output(HttpStatusCode status, HttpHeaders headers, SpilledResource body) {
+    }
+}
@@ -0,0 +1,12 @@
+package dev.gotenberg;
+
+/// The class of service of a request, set with [GotenbergClient.Options#priority(GotenbergPriority)].
+///
+/// A [GotenbergBulkhead] queues each class separately, so a user waiting for a document is not stuck behind
+/// thousands of queued batch conversions. Requests without a priority are interactive.
+public enum GotenbergPriority {
+    /// Someone is waiting for the result.
+    INTERACTIVE,
+    /// Background work that can wait, such as batches and scheduled jobs.
+    BULK
+}
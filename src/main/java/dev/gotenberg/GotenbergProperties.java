@@ -1,8 +1,183 @@
 package dev.gotenberg;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 /// @param baseUrl The base URL for the Gotenberg service. For example: `http://localhost:3000`
+/// @param nodes The base URLs of several Gotenberg nodes to spread requests over. Takes precedence over `baseUrl`.
+/// @param maxConcurrentChromium Maximum number of requests in flight to the Chromium routes of each node. Unlimited when not set.
+/// @param maxConcurrentLibreoffice Maximum number of requests in flight to the LibreOffice route of each node. Unlimited when not set.
+/// @param maxConcurrentPdfengines Maximum number of requests in flight to the PDF engines routes of each node. Unlimited when not set.
+/// @param maxQueueSize Maximum number of requests waiting, per module, for one of the above limits. Further requests are rejected.
+/// @param queueTimeout Maximum time a request waits for one of the above limits before being rejected.
+/// @param scheduling How queued requests of different priorities share the above limits.
+/// @param adaptiveConcurrency Adaptive limit on the number of requests in flight, per module.
+/// @param healthCheck Detection of unhealthy nodes and their ejection from the pool.
+/// @param cache Cache of the results of deterministic conversions.
+/// @param webhook Asynchronous conversions whose results Gotenberg posts back to an embedded endpoint.
+/// @param transport The HTTP client talking to Gotenberg, separate from the application's other REST clients. Only used when one of its properties is set.
+/// @param hedging Duplicates of late requests sent to another node, keeping the first response.
+/// @param circuitBreaker Fast failure of requests to a module of a node that keeps failing.
+/// @param coalescing Identical concurrent requests sent to Gotenberg only once.
+/// @param responseBuffer Re-readable response bodies, on pooled heap buffers or spilled to temporary files.
+/// @param leakDetection Reporting of response bodies that were never closed.
 @ConfigurationProperties(prefix = "gotenberg")
-public record GotenbergProperties(String baseUrl) {
+public record GotenbergProperties(@Nullable String baseUrl,
+                                  @DefaultValue List<String> nodes,
+                                  @Nullable Integer maxConcurrentChromium,
+                                  @Nullable Integer maxConcurrentLibreoffice,
+                                  @Nullable Integer maxConcurrentPdfengines,
+                                  @DefaultValue("1000") int maxQueueSize,
+                                  @DefaultValue("30s") Duration queueTimeout,
+                                  @DefaultValue Scheduling scheduling,
+                                  @DefaultValue AdaptiveConcurrency adaptiveConcurrency,
+                                  @DefaultValue HealthCheck healthCheck,
+                                  @DefaultValue Cache cache,
+                                  @DefaultValue Webhook webhook,
+                                  @DefaultValue Transport transport,
+                                  @DefaultValue Hedging hedging,
+                                  @DefaultValue CircuitBreaker circuitBreaker,
+                                  @DefaultValue Coalescing coalescing,
+                                  @DefaultValue ResponseBuffer responseBuffer,
+                                  @DefaultValue LeakDetection leakDetection) {
+
+    /// @param mode `strict` to always admit interactive requests first, `weighted` to share permits by weight.
+    /// @param interactiveWeight Share of the permits of interactive requests in `weighted` mode.
+    /// @param bulkWeight Share of the permits of bulk requests in `weighted` mode.
+    /// @param interactiveFloor Permits of each node reserved to interactive requests.
+    /// @param bulkFloor Permits of each node reserved to bulk requests.
+    /// @param aging Time after which a queued request is admitted first, whatever its priority.
+    public record Scheduling(@DefaultValue("weighted") GotenbergBulkhead.Scheduling.Mode mode,
+                             @DefaultValue("4") int interactiveWeight,
+                             @DefaultValue("1") int bulkWeight,
+                             @DefaultValue("0") int interactiveFloor,
+                             @DefaultValue("0") int bulkFloor,
+                             @DefaultValue("5s") Duration aging) {
+    }
+
+    /// @param enabled Whether to adapt the number of requests in flight to the latency and errors reported by Gotenberg.
+    /// @param initialLimit The limit, per module, before any response is received.
+    /// @param minLimit The lowest the limit can go.
+    /// @param maxLimit The highest the limit can go.
+    /// @param backoffRatio Ratio the limit is multiplied by on a `503`, a `429` or a timeout.
+    /// @param latencyTolerance How many times the average latency a response may take before the limit is reduced.
+    public record AdaptiveConcurrency(@DefaultValue("false") boolean enabled,
+                                      @DefaultValue("4") int initialLimit,
+                                      @DefaultValue("1") int minLimit,
+                                      @DefaultValue("64") int maxLimit,
+                                      @DefaultValue("0.5") double backoffRatio,
+                                      @DefaultValue("2.0") double latencyTolerance) {
+    }
+
+    /// @param enabled Whether to poll the `/health` route of every node in the background. By default only with several nodes.
+    /// @param interval Time between two checks of the same node.
+    /// @param timeout Maximum time a check may take before the node is considered down.
+    /// @param failureThreshold Number of consecutive failed requests after which a node is ejected.
+    /// @param ejectionBackoff How long a node is ejected the first time. Doubles on every further ejection.
+    /// @param maxEjectionBackoff Upper bound of the ejection time.
+    public record HealthCheck(@Nullable Boolean enabled,
+                              @DefaultValue("10s") Duration interval,
+                              @DefaultValue("5s") Duration timeout,
+                              @DefaultValue("3") int failureThreshold,
+                              @DefaultValue("5s") Duration ejectionBackoff,
+                              @DefaultValue("5m") Duration maxEjectionBackoff) {
+    }
+
+    /// @param enabled Whether to serve repeated conversions of identical forms from a cache.
+    /// @param maxHeapSize Maximum total size of the results kept on the heap.
+    /// @param maxEntrySize Maximum size of a single result. Larger results are not cached.
+    /// @param directory Directory of the disk tier. Results are only kept on the heap when not set.
+    /// @param maxDiskSize Maximum total size of the results kept on disk.
+    public record Cache(@DefaultValue("false") boolean enabled,
+                        @DefaultValue("64MB") DataSize maxHeapSize,
+                        @DefaultValue("16MB") DataSize maxEntrySize,
+                        @Nullable Path directory,
+                        @DefaultValue("1GB") DataSize maxDiskSize) {
+    }
+
+    /// @param enabled Whether to start the endpoint receiving webhook results and register a `GotenbergWebhookClient`.
+    /// @param host Address the endpoint binds to, loopback by default.
+    /// @param port Port the endpoint listens on. `0` picks any free port.
+    /// @param callbackUrl URL Gotenberg reaches the endpoint at. Derived from the host when not set, required when the host is a wildcard address such as `0.0.0.0`.
+    /// @param timeout Maximum time to wait for Gotenberg to post a result back.
+    /// @param maxResultSize Maximum size of a result posted back. Larger ones fail the request.
+    public record Webhook(@DefaultValue("false") boolean enabled,
+                          @DefaultValue("127.0.0.1") String host,
+                          @DefaultValue("0") int port,
+                          @Nullable String callbackUrl,
+                          @DefaultValue("10m") Duration timeout,
+                          @DefaultValue("1GB") DataSize maxResultSize) {
+    }
+
+    /// @param factory HTTP client to use. `auto` picks Apache HttpClient 5, then Jetty, then the JDK client, whichever is on the classpath.
+    /// @param connectTimeout Maximum time to establish a connection.
+    /// @param readTimeout Maximum time to wait for data from Gotenberg. Unlimited when not set.
+    /// @param maxConnections Maximum number of pooled connections. Only used by Apache HttpClient.
+    /// @param maxConnectionsPerNode Maximum number of connections to each node. Ignored by the JDK client.
+    /// @param keepAlive How long an idle connection stays in the pool before being closed. Ignored by the JDK client.
+    /// @param h2c Whether to speak HTTP/2 over cleartext, multiplexing requests to a node over a single connection. Not supported by Apache HttpClient.
+    public record Transport(@DefaultValue("auto") Factory factory,
+                            @DefaultValue("10s") Duration connectTimeout,
+                            @Nullable Duration readTimeout,
+                            @DefaultValue("100") int maxConnections,
+                            @DefaultValue("20") int maxConnectionsPerNode,
+                            @DefaultValue("30s") Duration keepAlive,
+                            @DefaultValue("false") boolean h2c) {
+
+        public enum Factory {
+            AUTO, JDK, HTTP_COMPONENTS, JETTY
+        }
+    }
+
+    /// @param enabled Whether to send a duplicate of a request whose response is late to another node.
+    /// @param percentile Percentile of the recent latencies of a route after which a request is hedged.
+    /// @param minDelay Minimum time to wait before hedging, whatever the recent latencies.
+    /// @param budget Maximum share of requests that may be hedged, `0.05` for 5%, capping the extra load on the nodes.
+    public record Hedging(@DefaultValue("false") boolean enabled,
+                          @DefaultValue("0.95") double percentile,
+                          @DefaultValue("50ms") Duration minDelay,
+                          @DefaultValue("0.05") double budget) {
+    }
+
+    /// @param enabled Whether to reject requests to a module of a node immediately while it keeps failing.
+    /// @param failureRateThreshold Share of failed requests (I/O error or `5xx`) in the window that opens the circuit.
+    /// @param slowCallRateThreshold Share of slow requests in the window that opens the circuit.
+    /// @param slowCallDuration Time to the response headers above which a request is slow.
+    /// @param windowSize Number of recent requests the rates are computed over, per node and module.
+    /// @param minimumCalls Number of requests recorded before the circuit can open.
+    /// @param openDuration How long an open circuit rejects requests before letting probes through.
+    /// @param halfOpenCalls Number of probes that must succeed to close the circuit again.
+    public record CircuitBreaker(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("0.5") double failureRateThreshold,
+                                 @DefaultValue("1.0") double slowCallRateThreshold,
+                                 @DefaultValue("60s") Duration slowCallDuration,
+                                 @DefaultValue("20") int windowSize,
+                                 @DefaultValue("10") int minimumCalls,
+                                 @DefaultValue("10s") Duration openDuration,
+                                 @DefaultValue("3") int halfOpenCalls) {
+    }
+
+    /// @param enabled Whether a request identical to one in flight waits for its response instead of being sent.
+    /// @param spillThreshold Size above which a response shared by several callers is written to a temporary file.
+    public record Coalescing(@DefaultValue("false") boolean enabled,
+                             @DefaultValue("16MB") DataSize spillThreshold) {
+    }
+
+    /// @param threshold Size above which a body is written to a temporary file.
+    /// @param maxPooled Maximum number of threshold-sized bodies worth of idle heap chunks kept for reuse.
+    public record ResponseBuffer(@DefaultValue("4MB") DataSize threshold,
+                                 @DefaultValue("16") int maxPooled) {
+    }
+
+    /// @param enabled Whether to report response bodies garbage collected without being closed, and release their connection.
+    /// @param captureAllocationSite Whether to record the stack trace of each call, to report where a leaked body was received.
+    public record LeakDetection(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("false") boolean captureAllocationSite) {
+    }
 }
@@ -0,0 +1,32 @@
+package dev.gotenberg;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Mono;
+
+
+@AutoConfiguration(after = GotenbergAutoConfiguration.class,
+        afterName = "org.springframework.boot.webclient.autoconfigure.WebClientAutoConfiguration")
+@ConditionalOnClass({WebClient.class, Mono.class})
+class GotenbergReactiveAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(GotenbergConnectionDetails.class)
+    @ConditionalOnMissingBean
+    ReactiveGotenbergClient reactiveGotenbergClient(ObjectProvider<WebClient.Builder> builder, GotenbergConnectionDetails gotenbergConnectionDetails,
+                                                    ObjectProvider<GotenbergNodePool> gotenbergNodePool) {
+        WebClient.Builder webClientBuilder = builder.getIfAvailable(WebClient::builder).baseUrl(gotenbergConnectionDetails.baseUrl());
+        GotenbergNodePool pool = gotenbergNodePool.getIfAvailable();
+        if (pool != null && pool.getNodes().size() > 1) webClientBuilder.filter(new GotenbergNodePoolFilter(pool));
+        WebClient webClient = webClientBuilder.build();
+        HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient)).build();
+        return factory.createClient(ReactiveGotenbergClient.class);
+    }
+}
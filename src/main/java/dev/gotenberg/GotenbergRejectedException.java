@@ -0,0 +1,18 @@
+package dev.gotenberg;
+
+import org.springframework.web.client.RestClientException;
+
+/// Thrown when a request is refused on the client side, before it is sent to Gotenberg.
+public class GotenbergRejectedException extends RestClientException {
+    private final GotenbergModule module;
+
+    public GotenbergRejectedException(GotenbergModule module, String message) {
+        super(message);
+        this.module = module;
+    }
+
+    /// The module the rejected request was meant for.
+    public GotenbergModule getModule() {
+        return module;
+    }
+}
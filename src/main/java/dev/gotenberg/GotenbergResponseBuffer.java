@@ -0,0 +1,89 @@
+package dev.gotenberg;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Reads response bodies into re-readable [SpilledResource]s without letting large results fill the heap.
+///
+/// Bodies up to `threshold` bytes are kept in heap chunks of at most 16 KB, taken from a pool as the body is
+/// read and given back once the resource and every stream opened on it are closed, so that steady traffic
+/// does not allocate per response and small bodies do not hold threshold-sized arrays. Larger bodies are
+/// streamed to a temporary file, memory-mapped when read and deleted when the resource is closed:
+/// ```java
+/// try (SpilledResource merged = responseBuffer.read(client.pdfMerge(options)).getBody()) {
+///     upload(merged.getInputStream());
+///     archive(merged.getInputStream());
+/// }
+/// ```
+public class GotenbergResponseBuffer {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final int threshold;
+    private final int chunkSize;
+    private final BlockingQueue<byte[]> pool;
+    private final LongAdder heapCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+
+    /// @param threshold size above which a body is written to a temporary file
+    /// @param maxPooled maximum number of threshold-sized bodies worth of idle chunks kept for reuse
+    public GotenbergResponseBuffer(int threshold, int maxPooled) {
+        if (threshold < 1) throw new IllegalArgumentException("threshold must be at least 1");
+        this.threshold = threshold;
+        this.chunkSize = Math.min(threshold, CHUNK_SIZE);
+        long chunksPerBody = (threshold + (long) chunkSize - 1) / chunkSize;
+        this.pool = new ArrayBlockingQueue<>((int) Math.min(Math.max(maxPooled, 1) * chunksPerBody, 1 << 20));
+    }
+
+    /// Reads and closes the body of the response. Its filename is taken from the `Content-Disposition` header.
+    /// The caller must close the returned resource.
+    public ResponseEntity<SpilledResource> read(ResponseEntity<InputStream> response) {
+        InputStream in = response.getBody();
+        if (in == null) throw new ResourceAccessException("Gotenberg returned an empty body");
+        String filename = response.getHeaders().getContentDisposition().getFilename();
+        try (in) {
+            SpilledResource body = SpilledResource.of(in, filename != null ? filename : "result", this);
+            (body.isSpilled() ? spilledCount : heapCount).increment();
+            return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(body);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error while reading Gotenberg response: " + e.getMessage(), e);
+        }
+    }
+
+    //region Metrics
+
+    /// Number of bodies kept on the heap.
+    public long getHeapCount() {
+        return heapCount.sum();
+    }
+
+    /// Number of bodies written to a temporary file.
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    /// Number of idle chunks in the pool.
+    public int getPooledCount() {
+        return pool.size();
+    }
+    //endregion
+
+    int threshold() {
+        return threshold;
+    }
+
+    byte[] borrow() {
+        byte[] chunk = pool.poll();
+        return chunk != null ? chunk : new byte[chunkSize];
+    }
+
+    void giveBack(byte[] chunk) {
+        // Beyond the pool size, the chunk is left to the garbage collector
+        pool.offer(chunk);
+    }
+}
@@ -0,0 +1,28 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/// Exposes where a [GotenbergResponseBuffer] kept the bodies it read, and the size of its pool, as Micrometer meters.
+public class GotenbergResponseBufferMetrics implements MeterBinder {
+    private final GotenbergResponseBuffer responseBuffer;
+
+    public GotenbergResponseBufferMetrics(GotenbergResponseBuffer responseBuffer) {
+        this.responseBuffer = responseBuffer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gotenberg.client.response.buffered", responseBuffer, GotenbergResponseBuffer::getHeapCount)
+                .description("Response bodies read for reuse").tag("tier", "heap")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.response.buffered", responseBuffer, GotenbergResponseBuffer::getSpilledCount)
+                .description("Response bodies read for reuse").tag("tier", "disk")
+                .register(registry);
+        Gauge.builder("gotenberg.client.response.pooled", responseBuffer, GotenbergResponseBuffer::getPooledCount)
+                .description("Idle heap chunks kept for reuse")
+                .register(registry);
+    }
+}
@@ -0,0 +1,290 @@
+package dev.gotenberg;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/// Size-bounded cache of conversion results, keyed by [GotenbergFingerprint].
+///
+/// Entries live in an on-heap LRU tier and, when a directory is given, are also written to a local disk tier
+/// with its own LRU bound. Disk entries are read back through memory-mapped files, so a hit does not copy the
+/// result onto the heap. The disk tier survives restarts: existing entries are picked up on creation.
+public class GotenbergResultCache {
+    private static final Log logger = LogFactory.getLog(GotenbergResultCache.class);
+    private static final String SUFFIX = ".result";
+
+    private final long maxHeapBytes;
+    private final long maxEntryBytes;
+    private final @Nullable Path directory;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, Entry> heap = new LinkedHashMap<>(16, 0.75f, true);
+    private long heapBytes;
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+
+    private final LongAdder heapHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder heapEvictions = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+
+    /// @param maxHeapBytes  maximum total size of the results kept on the heap
+    /// @param maxEntryBytes maximum size of a single result, larger results are not cached
+    /// @param directory     directory of the disk tier, or `null` to keep results on the heap only
+    /// @param maxDiskBytes  maximum total size of the results kept on disk
+    public GotenbergResultCache(long maxHeapBytes, long maxEntryBytes, @Nullable Path directory, long maxDiskBytes) {
+        this.maxHeapBytes = maxHeapBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        if (directory != null) loadDiskIndex(directory);
+    }
+
+    /// Maximum size of a single result.
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /// The cached result for the given key, if any.
+    public @Nullable Entry get(String key) {
+        synchronized (heap) {
+            Entry entry = heap.get(key);
+            if (entry != null) {
+                heapHits.increment();
+                return entry;
+            }
+        }
+        Entry entry = readFromDisk(key);
+        if (entry != null) {
+            diskHits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /// Caches the given result, evicting the least recently used ones as needed.
+    public void put(String key, Entry entry) {
+        if (entry.size() > maxEntryBytes) return;
+        synchronized (heap) {
+            Entry previous = heap.put(key, entry);
+            if (previous != null) heapBytes -= previous.size();
+            heapBytes += entry.size();
+            Iterator<Entry> eldest = heap.values().iterator();
+            while (heapBytes > maxHeapBytes && eldest.hasNext()) {
+                heapBytes -= eldest.next().size();
+                eldest.remove();
+                heapEvictions.increment();
+            }
+        }
+        if (directory != null) writeToDisk(directory, key, entry);
+    }
+
+    //region Disk tier
+    private void loadDiskIndex(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                        .sorted(Comparator.comparing(GotenbergResultCache::lastModified))
+                        .toList();
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                index(name.substring(0, name.length() - SUFFIX.length()), Files.size(file));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not load Gotenberg result cache from %s: %s".formatted(directory, e.getMessage()));
+        }
+    }
+
+    private @Nullable Entry readFromDisk(String key) {
+        if (directory == null) return null;
+        synchronized (disk) {
+            if (disk.get(key) == null) return null;
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(key + SUFFIX), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int status = buffer.getInt();
+            String contentType = readString(buffer);
+            String contentDisposition = readString(buffer);
+            return new Entry(status, contentType.isEmpty() ? null : contentType,
+                    contentDisposition.isEmpty() ? null : contentDisposition, buffer.slice());
+        } catch (NoSuchFileException e) {
+            unindex(key);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read Gotenberg result %s from disk: %s".formatted(key, e.getMessage()));
+            unindex(key);
+            return null;
+        }
+    }
+
+    private void writeToDisk(Path directory, String key, Entry entry) {
+        synchronized (disk) {
+            if (disk.containsKey(key)) return;
+        }
+        Path target = directory.resolve(key + SUFFIX);
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(header(entry)));
+                ByteBuffer body = entry.body().duplicate();
+                while (body.hasRemaining()) channel.write(body);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index(key, Files.size(target));
+        } catch (IOException e) {
+            logger.warn("Could not write Gotenberg result %s to disk: %s".formatted(key, e.getMessage()));
+        }
+    }
+
+    private void index(String key, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Long previous = disk.put(key, size);
+            if (previous != null) diskBytes -= previous;
+            diskBytes += size;
+            Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> next = eldest.next();
+                diskBytes -= next.getValue();
+                evicted.add(next.getKey());
+                eldest.remove();
+                diskEvictions.increment();
+            }
+        }
+        for (String evictedKey : evicted) {
+            try {
+                //noinspection DataFlowIssue
+                Files.deleteIfExists(directory.resolve(evictedKey + SUFFIX));
+            } catch (IOException e) {
+                logger.warn("Could not delete Gotenberg result %s from disk: %s".formatted(evictedKey, e.getMessage()));
+            }
+        }
+    }
+
+    private void unindex(String key) {
+        synchronized (disk) {
+            Long size = disk.remove(key);
+            if (size != null) diskBytes -= size;
+        }
+    }
+
+    private static byte[] header(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(entry.status());
+            writeString(out, entry.contentType());
+            writeString(out, entry.contentDisposition());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+    //endregion
+
+    //region Metrics
+    public long getHeapHitCount() {
+        return heapHits.sum();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getHeapEvictionCount() {
+        return heapEvictions.sum();
+    }
+
+    public long getDiskEvictionCount() {
+        return diskEvictions.sum();
+    }
+
+    public long getHeapBytes() {
+        synchronized (heap) {
+            return heapBytes;
+        }
+    }
+
+    public long getDiskBytes() {
+        synchronized (disk) {
+            return diskBytes;
+        }
+    }
+    //endregion
+
+    /// A cached result. The body is read-only and shared, each response reads its own view of it.
+    public record Entry(int status, @Nullable String contentType, @Nullable String contentDisposition, ByteBuffer body) {
+
+        static Entry of(ResponseEntity<?> response, byte[] body) {
+            HttpHeaders headers = response.getHeaders();
+            return new Entry(response.getStatusCode().value(),
+                    headers.getFirst(HttpHeaders.CONTENT_TYPE),
+                    headers.getFirst(HttpHeaders.CONTENT_DISPOSITION),
+                    ByteBuffer.wrap(body).asReadOnlyBuffer());
+        }
+
+        public long size() {
+            return body.remaining();
+        }
+
+        ResponseEntity<InputStream> toResponse() {
+            HttpHeaders headers = new HttpHeaders();
+            if (contentType != null) headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+            if (contentDisposition != null) headers.set(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+            headers.setContentLength(size());
+            InputStream in = DefaultDataBufferFactory.sharedInstance.wrap(body.duplicate()).asInputStream();
+            return ResponseEntity.status(status).headers(headers).body(in);
+        }
+    }
+}
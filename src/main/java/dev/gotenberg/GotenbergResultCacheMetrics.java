@@ -0,0 +1,40 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/// Exposes the hits, misses, evictions and size of a [GotenbergResultCache] as Micrometer meters.
+public class GotenbergResultCacheMetrics implements MeterBinder {
+    private final GotenbergResultCache cache;
+
+    public GotenbergResultCacheMetrics(GotenbergResultCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gotenberg.client.cache.gets", cache, GotenbergResultCache::getHeapHitCount)
+                .description("Cache lookups").tag("result", "hit").tag("tier", "heap")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.cache.gets", cache, GotenbergResultCache::getDiskHitCount)
+                .description("Cache lookups").tag("result", "hit").tag("tier", "disk")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.cache.gets", cache, GotenbergResultCache::getMissCount)
+                .description("Cache lookups").tag("result", "miss").tag("tier", "none")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.cache.evictions", cache, GotenbergResultCache::getHeapEvictionCount)
+                .description("Results evicted to stay within the size bound").tag("tier", "heap")
+                .register(registry);
+        FunctionCounter.builder("gotenberg.client.cache.evictions", cache, GotenbergResultCache::getDiskEvictionCount)
+                .description("Results evicted to stay within the size bound").tag("tier", "disk")
+                .register(registry);
+        Gauge.builder("gotenberg.client.cache.size", cache, GotenbergResultCache::getHeapBytes)
+                .description("Total size of the cached results").baseUnit("bytes").tag("tier", "heap")
+                .register(registry);
+        Gauge.builder("gotenberg.client.cache.size", cache, GotenbergResultCache::getDiskBytes)
+                .description("Total size of the cached results").baseUnit("bytes").tag("tier", "disk")
+                .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.gotenberg;
+
+/// The Gotenberg routes exposed by [GotenbergClient].
+public enum GotenbergRoute {
+    CHROMIUM_CONVERT_HTML("/forms/chromium/convert/html", true),
+    CHROMIUM_CONVERT_URL("/forms/chromium/convert/url", false),
+    CHROMIUM_CONVERT_MARKDOWN("/forms/chromium/convert/markdown", true),
+    CHROMIUM_SCREENSHOT_HTML("/forms/chromium/screenshot/html", true),
+    CHROMIUM_SCREENSHOT_URL("/forms/chromium/screenshot/url", false),
+    CHROMIUM_SCREENSHOT_MARKDOWN("/forms/chromium/screenshot/markdown", true),
+    LIBREOFFICE_CONVERT("/forms/libreoffice/convert", true),
+    PDF_ENGINES_MERGE("/forms/pdfengines/merge", true),
+    PDF_ENGINES_CONVERT("/forms/pdfengines/convert", true),
+    PDF_ENGINES_READ_METADATA("/forms/pdfengines/metadata/read", true),
+    PDF_ENGINES_WRITE_METADATA("/forms/pdfengines/metadata/write", true);
+
+    private final String path;
+    private final boolean deterministic;
+
+    GotenbergRoute(String path, boolean deterministic) {
+        this.path = path;
+        this.deterministic = deterministic;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public GotenbergModule getModule() {
+        //noinspection DataFlowIssue
+        return GotenbergModule.of(path);
+    }
+
+    /// Whether the result only depends on the uploaded form. The URL routes are not: the page may change
+    /// between two calls.
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/// Converts very large documents by splitting them into page ranges converted concurrently.
+///
+/// The same document is sent once per shard, each with a disjoint `nativePageRanges`, and the parts are
+/// merged back in order with `pdfMerge`. When the client spreads requests over a [GotenbergNodePool], the
+/// shards land on different nodes and the conversion takes roughly the time of its largest shard.
+///
+/// The page count of the document must be known up front: Chromium fails on ranges past the last page.
+/// Page numbers in headers and footers are those of the whole document, but outlines generated by
+/// `generateDocumentOutline` only cover their own shard.
+public class GotenbergShardedConverter {
+    private final GotenbergClient client;
+    private final int shards;
+    private final long spillThreshold;
+
+    /// @param shards         number of parts a document is split into, usually the number of nodes
+    /// @param spillThreshold size above which a part is written to a temporary file until merged
+    public GotenbergShardedConverter(GotenbergClient client, int shards, long spillThreshold) {
+        if (shards < 1) throw new IllegalArgumentException("shards must be at least 1");
+        this.client = client;
+        this.shards = shards;
+        this.spillThreshold = spillThreshold;
+    }
+
+    /// Converts an HTML document of `pageCount` pages.
+    public ResponseEntity<InputStream> convertHtml(String indexHtml, @Nullable ChromiumConvertOptions options, int pageCount) {
+        return convert(options, pageCount, (pipeline, shard) -> pipeline.convertHtml(indexHtml, shard));
+    }
+
+    /// Converts an HTML document of `pageCount` pages.
+    public ResponseEntity<InputStream> convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options, int pageCount) {
+        return convert(options, pageCount, (pipeline, shard) -> pipeline.convertHtml(indexHtml, shard));
+    }
+
+    /// Converts a page of `pageCount` pages.
+    public ResponseEntity<InputStream> convertUrl(String url, @Nullable ChromiumConvertOptions options, int pageCount) {
+        return convert(options, pageCount, (pipeline, shard) -> pipeline.convertUrl(url, shard));
+    }
+
+    private ResponseEntity<InputStream> convert(@Nullable ChromiumConvertOptions options, int pageCount, ShardCall call) {
+        if (options != null && options.parts.containsKey("nativePageRanges")) {
+            throw new IllegalArgumentException("nativePageRanges is set by the sharded conversion");
+        }
+        List<String> ranges = pageRanges(pageCount, shards);
+        try (GotenbergPipeline pipeline = new GotenbergPipeline(client, spillThreshold)) {
+            Function<String, GotenbergPipeline.Stage> shard = range ->
+                    call.convert(pipeline, new ChromiumConvertOptions(options).nativePageRanges(range));
+            if (ranges.size() == 1) return shard.apply(ranges.getFirst()).join();
+            List<GotenbergPipeline.Stage> parts = ranges.stream().map(shard).toList();
+            return pipeline.pdfMerge(parts, null).join();
+        }
+    }
+
+    /// Splits pages `1` to `pageCount` into at most `shards` contiguous ranges of nearly equal size.
+    static List<String> pageRanges(int pageCount, int shards) {
+        if (pageCount < 1) throw new IllegalArgumentException("pageCount must be at least 1");
+        int count = Math.min(shards, pageCount);
+        List<String> ranges = new ArrayList<>(count);
+        int first = 1;
+        for (int i = 0; i < count; i++) {
+            int size = pageCount / count + (i < pageCount % count ? 1 : 0);
+            int last = first + size - 1;
+            ranges.add(first == last ? String.valueOf(first) : first + "-" + last);
+            first = last + 1;
+        }
+        return ranges;
+    }
+
+    @FunctionalInterface
+    private interface ShardCall {
+        GotenbergPipeline.Stage convert(GotenbergPipeline pipeline, ChromiumConvertOptions shard);
+    }
+}
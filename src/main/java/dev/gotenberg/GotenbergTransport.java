@@ -0,0 +1,182 @@
+package dev.gotenberg;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.Destination;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.transport.HttpClientTransportOverHTTP2;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.JettyClientHttpRequestFactory;
+import org.springframework.util.ClassUtils;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/// The HTTP client dedicated to Gotenberg, configured by `gotenberg.transport.*`.
+///
+/// It is built apart from the request factory shared by the application's other REST clients, so pool sizes
+/// and timeouts suited to long conversions do not leak into them, and is closed with the context. It is only
+/// installed when one of these properties is set, otherwise the client uses the request factory of the
+/// `RestClient.Builder` like any other.
+final class GotenbergTransport implements AutoCloseable {
+    private final ClientHttpRequestFactory requestFactory;
+    private final AutoCloseable client;
+    private final @Nullable Supplier<Connections> connections;
+
+    /// Connections of the pool: `leased` carry an exchange, or a response body nobody closed yet, `idle` wait for one.
+    record Connections(int leased, int idle) {
+    }
+
+    private GotenbergTransport(ClientHttpRequestFactory requestFactory, AutoCloseable client,
+                               @Nullable Supplier<Connections> connections) {
+        this.requestFactory = requestFactory;
+        this.client = client;
+        this.connections = connections;
+    }
+
+    static GotenbergTransport create(GotenbergProperties.Transport transport) {
+        GotenbergProperties.Transport.Factory factory = transport.factory();
+        if (factory == GotenbergProperties.Transport.Factory.AUTO) factory = detect(transport.h2c());
+        // Each client lives in its own class so that only the selected one has to be on the classpath
+        return switch (factory) {
+            case HTTP_COMPONENTS -> HttpComponents.create(transport);
+            case JETTY -> Jetty.create(transport);
+            case JDK, AUTO -> Jdk.create(transport);
+        };
+    }
+
+    private static GotenbergProperties.Transport.Factory detect(boolean h2c) {
+        ClassLoader classLoader = GotenbergTransport.class.getClassLoader();
+        if (!h2c && ClassUtils.isPresent("org.apache.hc.client5.http.impl.classic.HttpClients", classLoader)) {
+            return GotenbergProperties.Transport.Factory.HTTP_COMPONENTS;
+        }
+        if (ClassUtils.isPresent("org.eclipse.jetty.client.HttpClient", classLoader)
+                && (!h2c || ClassUtils.isPresent("org.eclipse.jetty.http2.client.transport.HttpClientTransportOverHTTP2", classLoader))) {
+            return GotenbergProperties.Transport.Factory.JETTY;
+        }
+        return GotenbergProperties.Transport.Factory.JDK;
+    }
+
+    ClientHttpRequestFactory getRequestFactory() {
+        return requestFactory;
+    }
+
+    /// The state of the connection pool, or `null` when the client does not expose it (JDK).
+    @Nullable Connections getConnections() {
+        return connections != null ? connections.get() : null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        client.close();
+    }
+
+    private static final class Jdk {
+
+        static GotenbergTransport create(GotenbergProperties.Transport transport) {
+            // The JDK client neither bounds its pool nor exposes its keep-alive, both are global system properties
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(transport.connectTimeout())
+                    .version(transport.h2c() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client);
+            if (transport.readTimeout() != null) requestFactory.setReadTimeout(transport.readTimeout());
+            return new GotenbergTransport(requestFactory, client, null);
+        }
+    }
+
+    private static final class HttpComponents {
+
+        static GotenbergTransport create(GotenbergProperties.Transport transport) {
+            if (transport.h2c()) {
+                throw new IllegalArgumentException("h2c is not supported by the classic Apache HttpClient, use the JDK or Jetty client");
+            }
+            ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.of(transport.connectTimeout()));
+            if (transport.readTimeout() != null) connectionConfig.setSocketTimeout(Timeout.of(transport.readTimeout()));
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(transport.maxConnections())
+                    .setMaxConnPerRoute(transport.maxConnectionsPerNode())
+                    .setDefaultConnectionConfig(connectionConfig.build())
+                    .build();
+            RequestConfig.Builder requestConfig = RequestConfig.custom();
+            if (transport.readTimeout() != null) requestConfig.setResponseTimeout(Timeout.of(transport.readTimeout()));
+            RequestConfig defaultRequestConfig = requestConfig.build();
+            TimeValue keepAlive = TimeValue.of(transport.keepAlive());
+            CloseableHttpClient client = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(defaultRequestConfig)
+                    .setKeepAliveStrategy((response, context) -> keepAlive)
+                    .evictIdleConnections(keepAlive)
+                    .evictExpiredConnections()
+                    .build();
+            HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(client);
+            // The client ignores interrupts, a deadline can only end the exchange through its response timeout
+            requestFactory.setHttpContextFactory((method, uri) -> {
+                Duration remaining = DeadlineGotenbergClient.remainingTime();
+                if (remaining == null) return null;
+                if (transport.readTimeout() != null && transport.readTimeout().compareTo(remaining) < 0) return null;
+                HttpClientContext context = HttpClientContext.create();
+                // A zero timeout would mean no timeout at all
+                context.setRequestConfig(RequestConfig.copy(defaultRequestConfig)
+                        .setResponseTimeout(Timeout.ofMilliseconds(Math.max(remaining.toMillis(), 1)))
+                        .build());
+                return context;
+            });
+            return new GotenbergTransport(requestFactory, client, () -> {
+                PoolStats stats = connectionManager.getTotalStats();
+                return new Connections(stats.getLeased(), stats.getAvailable());
+            });
+        }
+    }
+
+    private static final class Jetty {
+
+        static GotenbergTransport create(GotenbergProperties.Transport transport) {
+            // Over HTTP/2 with prior knowledge, every request to a node is multiplexed over a single connection
+            org.eclipse.jetty.client.HttpClient client = transport.h2c()
+                    ? new org.eclipse.jetty.client.HttpClient(h2cTransport())
+                    : new org.eclipse.jetty.client.HttpClient();
+            client.setMaxConnectionsPerDestination(transport.maxConnectionsPerNode());
+            client.setConnectTimeout(transport.connectTimeout().toMillis());
+            client.setIdleTimeout(transport.keepAlive().toMillis());
+            try {
+                client.start();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not start the Jetty client", e);
+            }
+            JettyClientHttpRequestFactory requestFactory = new JettyClientHttpRequestFactory(client);
+            if (transport.readTimeout() != null) requestFactory.setReadTimeout(transport.readTimeout());
+            return new GotenbergTransport(requestFactory, client::stop, () -> connections(client));
+        }
+
+        private static Connections connections(org.eclipse.jetty.client.HttpClient client) {
+            int leased = 0, idle = 0;
+            for (Destination destination : client.getDestinations()) {
+                if (destination.getConnectionPool() instanceof AbstractConnectionPool pool) {
+                    leased += pool.getActiveConnectionCount();
+                    idle += pool.getIdleConnectionCount();
+                }
+            }
+            return new Connections(leased, idle);
+        }
+
+        private static HttpClientTransport h2cTransport() {
+            return new HttpClientTransportOverHTTP2(new HTTP2Client());
+        }
+    }
+}
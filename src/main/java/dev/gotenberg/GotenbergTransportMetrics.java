@@ -0,0 +1,36 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/// Exposes the leased and idle connections of a [GotenbergTransport] as Micrometer meters. Nothing is
+/// published for the JDK client, which does not expose its pool.
+final class GotenbergTransportMetrics implements MeterBinder {
+    private final GotenbergTransport transport;
+
+    GotenbergTransportMetrics(GotenbergTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (transport.getConnections() == null) return;
+        Gauge.builder("gotenberg.client.connections", transport, GotenbergTransportMetrics::leased)
+                .description("Connections to Gotenberg").tag("state", "leased")
+                .register(registry);
+        Gauge.builder("gotenberg.client.connections", transport, GotenbergTransportMetrics::idle)
+                .description("Connections to Gotenberg").tag("state", "idle")
+                .register(registry);
+    }
+
+    private static double leased(GotenbergTransport transport) {
+        GotenbergTransport.Connections connections = transport.getConnections();
+        return connections != null ? connections.leased() : Double.NaN;
+    }
+
+    private static double idle(GotenbergTransport transport) {
+        GotenbergTransport.Connections connections = transport.getConnections();
+        return connections != null ? connections.idle() : Double.NaN;
+    }
+}
@@ -0,0 +1,118 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import dev.gotenberg.GotenbergClient.ChromiumScreenshotOptions;
+import dev.gotenberg.GotenbergClient.LibreOfficeOptions;
+import dev.gotenberg.GotenbergClient.Options;
+import dev.gotenberg.GotenbergClient.PdfConvertOptions;
+import dev.gotenberg.GotenbergClient.PdfMergeOptions;
+import dev.gotenberg.GotenbergClient.PdfWriteMetadataOptions;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/// Webhook variant of [GotenbergClient].
+///
+/// Each call sends the form with the `Gotenberg-Webhook-Url` and `Gotenberg-Webhook-Error-Url` headers
+/// pointing at a [GotenbergWebhookReceiver], and returns as soon as Gotenberg has accepted it. The
+/// connection is released straight away, and the returned future completes when Gotenberg posts the result
+/// back, so conversions taking minutes tie up neither a thread nor a socket while they run.
+///
+/// The id of the request is also sent as `Gotenberg-Trace`, so it can be found in the logs of Gotenberg.
+public class GotenbergWebhookClient {
+    static final String WEBHOOK_URL = "Gotenberg-Webhook-Url";
+    static final String WEBHOOK_ERROR_URL = "Gotenberg-Webhook-Error-Url";
+    static final String TRACE = "Gotenberg-Trace";
+
+    private final GotenbergClient client;
+    private final GotenbergWebhookReceiver receiver;
+    private final Duration timeout;
+
+    /// @param timeout maximum time to wait for Gotenberg to call back before the future fails
+    public GotenbergWebhookClient(GotenbergClient client, GotenbergWebhookReceiver receiver, Duration timeout) {
+        this.client = client;
+        this.receiver = receiver;
+        this.timeout = timeout;
+    }
+
+    //region Chromium Convert
+    public CompletableFuture<ResponseEntity<InputStream>> convertHtml(String indexHtml, @Nullable ChromiumConvertOptions options) {
+        return send(new ChromiumConvertOptions(options), request -> client.convertHtml(indexHtml, request));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
+        return send(new ChromiumConvertOptions(options), request -> client.convertHtml(indexHtml, request));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> convertUrl(String url, @Nullable ChromiumConvertOptions options) {
+        return send(new ChromiumConvertOptions(options), request -> client.convertUrl(url, request));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> convertMarkdown(ChromiumConvertOptions options) {
+        return send(new ChromiumConvertOptions(options), client::convertMarkdown);
+    }
+    //endregion
+
+    //region Chromium Screenshot
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotHtml(String indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return send(new ChromiumScreenshotOptions(options), request -> client.screenshotHtml(indexHtml, request));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotHtml(byte[] indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return send(new ChromiumScreenshotOptions(options), request -> client.screenshotHtml(indexHtml, request));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotUrl(String url, @Nullable ChromiumScreenshotOptions options) {
+        return send(new ChromiumScreenshotOptions(options), request -> client.screenshotUrl(url, request));
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> screenshotMarkdown(ChromiumScreenshotOptions options) {
+        return send(new ChromiumScreenshotOptions(options), client::screenshotMarkdown);
+    }
+    //endregion
+
+    //region Libre Office Convert
+    public CompletableFuture<ResponseEntity<InputStream>> convertLibreOffice(LibreOfficeOptions options) {
+        return send(new LibreOfficeOptions(options), client::convertLibreOffice);
+    }
+    //endregion
+
+    //region PDF Engines
+    public CompletableFuture<ResponseEntity<InputStream>> pdfMerge(PdfMergeOptions options) {
+        return send(new PdfMergeOptions(options), client::pdfMerge);
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> pdfConvert(PdfConvertOptions options) {
+        return send(new PdfConvertOptions(options), client::pdfConvert);
+    }
+
+    public CompletableFuture<ResponseEntity<InputStream>> writeMetadata(PdfWriteMetadataOptions options) {
+        return send(new PdfWriteMetadataOptions(options), client::writeMetadata);
+    }
+    //endregion
+
+    private <O extends Options<O>> CompletableFuture<ResponseEntity<InputStream>> send(
+            O request, Function<O, ResponseEntity<InputStream>> call) {
+        String id = UUID.randomUUID().toString();
+        CompletableFuture<ResponseEntity<InputStream>> result = receiver.register(id);
+        request.header(WEBHOOK_URL, receiver.resultUrl(id))
+                .header(WEBHOOK_ERROR_URL, receiver.errorUrl(id))
+                .header(TRACE, id);
+        try {
+            // Gotenberg answers 204 right away, the result comes through the receiver
+            ResponseEntity<InputStream> accepted = call.apply(request);
+            if (accepted.getBody() != null) accepted.getBody().close();
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
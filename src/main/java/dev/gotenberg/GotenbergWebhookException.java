@@ -0,0 +1,18 @@
+package dev.gotenberg;
+
+import org.springframework.web.client.RestClientException;
+
+/// Thrown when Gotenberg reports a failed conversion to the error URL of a webhook.
+public class GotenbergWebhookException extends RestClientException {
+    private final int status;
+
+    public GotenbergWebhookException(int status, String message) {
+        super(status + " " + message);
+        this.status = status;
+    }
+
+    /// The HTTP status Gotenberg would have answered with, had the request not been sent in webhook mode.
+    public int getStatus() {
+        return status;
+    }
+}
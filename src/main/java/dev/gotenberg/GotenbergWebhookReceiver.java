@@ -0,0 +1,239 @@
+package dev.gotenberg;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/// Embedded HTTP endpoint receiving the results Gotenberg posts to webhook URLs.
+///
+/// Each request sent by a [GotenbergWebhookClient] registers an id along with a random secret, and Gotenberg is
+/// told to post the result to `{callbackUrl}/{id}/{secret}` and failures to `{callbackUrl}/{id}/{secret}/error`.
+/// Posts without the secret of a pending request are answered `404`, since the id is also sent to Gotenberg as
+/// its trace and ends up in its logs. The result is spooled to a temporary file, deleted once its stream is
+/// closed, before the pending future is completed; results larger than the maximum size fail the request.
+public class GotenbergWebhookReceiver implements SmartLifecycle {
+    private static final Log logger = LogFactory.getLog(GotenbergWebhookReceiver.class);
+    private static final String ERROR_SUFFIX = "/error";
+    /// Gotenberg posts its errors as a short JSON object.
+    private static final int MAX_ERROR_SIZE = 64 * 1024;
+    private static final SecureRandom SECRETS = new SecureRandom();
+
+    private final String host;
+    private final int port;
+    private final @Nullable String callbackUrl;
+    private final long maxResultSize;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private @Nullable HttpServer server;
+    private @Nullable ExecutorService executor;
+
+    /// A request waiting for Gotenberg to call back.
+    private record Pending(String secret, CompletableFuture<ResponseEntity<InputStream>> future) {
+    }
+
+    /// @param host        address the endpoint binds to
+    /// @param port        port the endpoint listens on, or `0` for any free port
+    /// @param callbackUrl URL Gotenberg reaches the endpoint at. Derived from `host` when `null`, which must then
+    ///                    be a specific address
+    public GotenbergWebhookReceiver(String host, int port, @Nullable String callbackUrl) {
+        this(host, port, callbackUrl, 1024L * 1024 * 1024);
+    }
+
+    /// @param host          address the endpoint binds to
+    /// @param port          port the endpoint listens on, or `0` for any free port
+    /// @param callbackUrl   URL Gotenberg reaches the endpoint at. Derived from `host` when `null`, which must then
+    ///                      be a specific address
+    /// @param maxResultSize maximum size, in bytes, of a result posted back
+    public GotenbergWebhookReceiver(String host, int port, @Nullable String callbackUrl, long maxResultSize) {
+        if (callbackUrl == null && new InetSocketAddress(host, port).getAddress().isAnyLocalAddress()) {
+            throw new IllegalArgumentException("A callback URL is required when the webhook endpoint binds to " + host);
+        }
+        this.host = host;
+        this.port = port;
+        this.callbackUrl = callbackUrl;
+        this.maxResultSize = maxResultSize;
+    }
+
+    @Override
+    public void start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+            ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("gotenberg-webhook-", 0).factory());
+            server.createContext("/", this::handle);
+            server.setExecutor(executor);
+            server.start();
+            this.server = server;
+            this.executor = executor;
+            logger.info("Gotenberg webhook receiver listening on %s".formatted(getCallbackUrl()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the Gotenberg webhook receiver", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.close();
+            executor = null;
+        }
+        pending.values().forEach(request -> request.future().cancel(false));
+        pending.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /// The port the endpoint listens on, once started.
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    /// The URL Gotenberg posts results under.
+    public String getCallbackUrl() {
+        if (callbackUrl != null) return callbackUrl;
+        return "http://%s:%d".formatted(host.contains(":") ? "[" + host + "]" : host, getPort());
+    }
+
+    /// Number of requests waiting for Gotenberg to call back.
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /// Registers a request under the given id. The future completes when Gotenberg calls back.
+    CompletableFuture<ResponseEntity<InputStream>> register(String id) {
+        byte[] secret = new byte[32];
+        SECRETS.nextBytes(secret);
+        Pending request = new Pending(Base64.getUrlEncoder().withoutPadding().encodeToString(secret), new CompletableFuture<>());
+        pending.put(id, request);
+        // Removed however it completes: callback, timeout or cancellation
+        request.future().whenComplete((_, _) -> pending.remove(id, request));
+        return request.future();
+    }
+
+    /// The URL the result of a registered request is posted to.
+    String resultUrl(String id) {
+        Pending request = pending.get(id);
+        if (request == null) throw new IllegalStateException("No pending webhook request " + id);
+        return getCallbackUrl() + "/" + id + "/" + request.secret();
+    }
+
+    String errorUrl(String id) {
+        return resultUrl(id) + ERROR_SUFFIX;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            boolean error = path.endsWith(ERROR_SUFFIX);
+            String[] segments = path.substring(1, error ? path.length() - ERROR_SUFFIX.length() : path.length()).split("/");
+            Pending request = segments.length == 2 ? pending.get(segments[0]) : null;
+            if (request == null || !MessageDigest.isEqual(request.secret().getBytes(StandardCharsets.US_ASCII),
+                    segments[1].getBytes(StandardCharsets.US_ASCII))) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            CompletableFuture<ResponseEntity<InputStream>> future = request.future();
+            if (error) {
+                future.completeExceptionally(readError(exchange));
+            } else {
+                ResponseEntity<InputStream> result;
+                try {
+                    result = readResult(exchange);
+                } catch (ResultTooLargeException e) {
+                    future.completeExceptionally(new GotenbergWebhookException(413, e.getMessage()));
+                    exchange.sendResponseHeaders(413, -1);
+                    return;
+                } catch (IOException e) {
+                    future.completeExceptionally(new ResourceAccessException("Could not read the Gotenberg webhook result", e));
+                    throw e;
+                }
+                if (!future.complete(result)) result.getBody().close();
+            }
+            exchange.sendResponseHeaders(204, -1);
+        }
+    }
+
+    private ResponseEntity<InputStream> readResult(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (length != null && Long.parseLong(length) > maxResultSize) throw new ResultTooLargeException(maxResultSize);
+        Path file = Files.createTempFile("gotenberg-webhook-", null);
+        try (InputStream in = exchange.getRequestBody();
+             OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            for (int read; (read = in.read(buffer)) >= 0; ) {
+                total += read;
+                if (total > maxResultSize) throw new ResultTooLargeException(maxResultSize);
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        copyHeader(exchange, headers, HttpHeaders.CONTENT_TYPE);
+        copyHeader(exchange, headers, HttpHeaders.CONTENT_DISPOSITION);
+        headers.setContentLength(Files.size(file));
+        InputStream body = Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private static RuntimeException readError(HttpExchange exchange) {
+        try (InputStream in = exchange.getRequestBody()) {
+            String json = new String(in.readNBytes(MAX_ERROR_SIZE), StandardCharsets.UTF_8);
+            Map<String, Object> error = JsonParserFactory.getJsonParser().parseMap(json);
+            int status = error.get("status") instanceof Number number ? number.intValue() : 500;
+            return new GotenbergWebhookException(status, String.valueOf(error.get("message")));
+        } catch (IOException e) {
+            return new ResourceAccessException("Could not read the Gotenberg webhook error", e);
+        } catch (RuntimeException e) {
+            return new GotenbergWebhookException(500, "Unreadable webhook error: " + e.getMessage());
+        }
+    }
+
+    private static void copyHeader(HttpExchange exchange, HttpHeaders headers, String name) {
+        String value = exchange.getRequestHeaders().getFirst(name);
+        if (value != null) headers.set(name, value);
+    }
+
+    private static final class ResultTooLargeException extends IOException {
+        ResultTooLargeException(long maxResultSize) {
+            super("Webhook result larger than %d bytes".formatted(maxResultSize));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// [GotenbergClient] sending a duplicate of a request whose response is late, to another node, and keeping
+/// whichever answers first.
+///
+/// A request is hedged when its response headers have not arrived within the delay given by the
+/// [GotenbergHedgePolicy] and the policy's budget allows it. The duplicate is kept off the node of the
+/// first request when the pool has another one available. The loser is cancelled, which aborts its exchange,
+/// and its response is closed if it still arrives. Only requests that can safely be sent twice are hedged:
+/// every part must be re-readable, and requests with webhook headers, which Gotenberg would post back twice,
+/// go through as they are.
+public class HedgingGotenbergClient extends GotenbergClientDecorator {
+    private final GotenbergHedgePolicy policy;
+    private final GotenbergAsyncClient async;
+
+    public HedgingGotenbergClient(GotenbergClient delegate, GotenbergHedgePolicy policy) {
+        super(delegate);
+        this.policy = policy;
+        // Only used for its cancellable calls on virtual threads
+        this.async = new GotenbergAsyncClient(delegate);
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        if (!isHedgeable(body, headers)) return call.apply(body, headers);
+        policy.recordRequest();
+        long delay = policy.hedgeDelayNanos(route);
+        if (delay < 0) {
+            long start = System.nanoTime();
+            ResponseEntity<InputStream> response = call.apply(body, headers);
+            policy.recordLatency(route, System.nanoTime() - start);
+            return response;
+        }
+
+        // The primary runs off the caller thread too: Apache HttpClient ignores interrupts, so a caller stuck in
+        // a late primary could not return the response of the hedge
+        Attempt primary = attempt(route, body, headers, call, null);
+        try {
+            ResponseEntity<InputStream> response = primary.future.get(delay, TimeUnit.NANOSECONDS);
+            adoptStats(primary);
+            return response;
+        } catch (TimeoutException e) {
+            // Late, hedged below
+        } catch (ExecutionException e) {
+            adoptStats(primary);
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            primary.future.cancel(true);
+            throw interrupted(e);
+        }
+        if (!policy.tryAcquireHedge()) return join(primary);
+
+        GotenbergExchangeStats primaryStats = primary.stats;
+        Attempt hedge = attempt(route, body, headers, call, primaryStats != null ? primaryStats.getNode() : null);
+        Attempt winner;
+        try {
+            winner = firstSuccessful(primary, hedge).get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            primary.future.cancel(true);
+            hedge.future.cancel(true);
+            throw interrupted(e);
+        }
+        Attempt loser = winner == primary ? hedge : primary;
+        if (!loser.future.cancel(true)) {
+            // Answered as well, nobody is going to read it
+            loser.future.thenAccept(response -> closeQuietly(response.getBody()));
+        }
+        if (winner == hedge) policy.recordHedgeWin();
+        adoptStats(winner);
+        return winner.future.join();
+    }
+
+    /// Reports the node and queue wait of the attempt that answered to the stats of the caller thread.
+    private static void adoptStats(Attempt attempt) {
+        GotenbergExchangeStats stats = attempt.stats;
+        if (stats == null) return;
+        String node = stats.getNode();
+        if (node != null) GotenbergExchangeStats.recordNode(node);
+        GotenbergExchangeStats.recordQueueWait(stats.getQueueWaitNanos());
+    }
+
+    private Attempt attempt(GotenbergRoute route, MultiValueMap<String, Object> body, MultiValueMap<String, String> headers,
+                            Call call, @Nullable String avoidedNode) {
+        Attempt attempt = new Attempt();
+        attempt.future = async.supply(() -> {
+            try (GotenbergExchangeStats stats = GotenbergExchangeStats.open()) {
+                stats.avoidNode(avoidedNode);
+                // Published so that a hedge can be kept off the node while this attempt still waits for its response
+                attempt.stats = stats;
+                long start = System.nanoTime();
+                ResponseEntity<InputStream> response = call.apply(body, headers);
+                policy.recordLatency(route, System.nanoTime() - start);
+                return response;
+            }
+        });
+        return attempt;
+    }
+
+    private static CompletableFuture<Attempt> firstSuccessful(Attempt... attempts) {
+        CompletableFuture<Attempt> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt attempt : attempts) {
+            attempt.future.whenComplete((result, error) -> {
+                if (error == null) first.complete(attempt);
+                else if (failures.incrementAndGet() == attempts.length) first.completeExceptionally(error);
+            });
+        }
+        return first;
+    }
+
+    private static ResponseEntity<InputStream> join(Attempt attempt) {
+        try {
+            ResponseEntity<InputStream> response = attempt.future.get();
+            adoptStats(attempt);
+            return response;
+        } catch (ExecutionException e) {
+            adoptStats(attempt);
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            attempt.future.cancel(true);
+            throw interrupted(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable error) {
+        if (error instanceof RuntimeException runtime) return runtime;
+        if (error instanceof Error e) throw e;
+        return new ResourceAccessException("Gotenberg request failed: " + error.getMessage(),
+                error instanceof IOException io ? io : new IOException(error));
+    }
+
+    private static ResourceAccessException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a Gotenberg response");
+        exception.initCause(e);
+        return new ResourceAccessException(exception.getMessage(), exception);
+    }
+
+    private static void closeQuietly(@Nullable InputStream in) {
+        if (in == null) return;
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    /// Whether the request can be sent twice: no part is read only once and Gotenberg is not asked to post back.
+    static boolean isHedgeable(MultiValueMap<String, Object> body, MultiValueMap<String, String> headers) {
+        for (String name : headers.keySet()) {
+            if (name.regionMatches(true, 0, "Gotenberg-Webhook", 0, "Gotenberg-Webhook".length())) return false;
+        }
+        for (List<Object> values : body.values()) {
+            for (Object value : values) {
+                Object part = value instanceof HttpEntity<?> entity ? entity.getBody() : value;
+                if (part instanceof Resource resource && resource.isOpen()) return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Attempt {
+        private CompletableFuture<ResponseEntity<InputStream>> future;
+        private volatile @Nullable GotenbergExchangeStats stats;
+    }
+}
@@ -0,0 +1,25 @@
+package dev.gotenberg;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+
+import java.io.InputStream;
+
+/// [GotenbergClient] handing every response body over to a [GotenbergLeakDetector].
+public class LeakDetectingGotenbergClient extends GotenbergClientDecorator {
+    private final GotenbergLeakDetector detector;
+
+    public LeakDetectingGotenbergClient(GotenbergClient delegate, GotenbergLeakDetector detector) {
+        super(delegate);
+        this.detector = detector;
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        ResponseEntity<InputStream> response = call.apply(body, headers);
+        InputStream in = response.getBody();
+        if (in == null) return response;
+        return new ResponseEntity<>(detector.track(in, route), response.getHeaders(), response.getStatusCode());
+    }
+}
@@ -0,0 +1,210 @@
+package dev.gotenberg;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/// [GotenbergClient] wrapping every call in a Micrometer [Observation].
+///
+/// The observation starts before the request is admitted by the client-side limits and stops once the
+/// response body is fully read or closed, so its duration covers queueing, conversion and download. Each
+/// request carries a `Gotenberg-Trace` header, generated unless one was set on the options, which is recorded
+/// on the observation so the logs of Gotenberg can be joined to client spans.
+public class ObservingGotenbergClient extends GotenbergClientDecorator {
+    private static final DefaultGotenbergObservationConvention DEFAULT_CONVENTION = new DefaultGotenbergObservationConvention();
+
+    private final ObservationRegistry registry;
+    private final @Nullable GotenbergObservationConvention convention;
+    private final @Nullable String defaultNode;
+
+    /// @param convention  replaces the [DefaultGotenbergObservationConvention] when not `null`
+    /// @param defaultNode `host:port` reported when requests are not spread over a node pool
+    public ObservingGotenbergClient(GotenbergClient delegate, ObservationRegistry registry,
+                                    @Nullable GotenbergObservationConvention convention, @Nullable String defaultNode) {
+        super(delegate);
+        this.registry = registry;
+        this.convention = convention;
+        this.defaultNode = defaultNode;
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        ObservedCall<InputStream> observed = observe(route, body, headers, call::apply);
+        ResponseEntity<InputStream> response = observed.response();
+        InputStream in = response.getBody();
+        if (in == null) {
+            observed.observation().stop();
+            return response;
+        }
+        InputStream counted = new ObservedInputStream(in, observed.observation(), observed.context());
+        return new ResponseEntity<>(counted, response.getHeaders(), response.getStatusCode());
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Map<String, Object>>> readMetadata(MultiValueMap<String, Object> body,
+                                                                         MultiValueMap<String, String> headers) {
+        ObservedCall<Map<String, Map<String, Object>>> observed =
+                observe(GotenbergRoute.PDF_ENGINES_READ_METADATA, body, headers, delegate::readMetadata);
+        observed.observation().stop();
+        return observed.response();
+    }
+
+    private <T> ObservedCall<T> observe(GotenbergRoute route, MultiValueMap<String, Object> body, MultiValueMap<String, String> headers,
+                                        BiFunction<MultiValueMap<String, Object>, MultiValueMap<String, String>, ResponseEntity<T>> call) {
+        String trace = headers.getFirst(GotenbergWebhookClient.TRACE);
+        MultiValueMap<String, String> sent = headers;
+        if (trace == null) {
+            // Copied, the headers may belong to options reused by the caller
+            trace = UUID.randomUUID().toString();
+            sent = new LinkedMultiValueMap<>(headers);
+            sent.set(GotenbergWebhookClient.TRACE, trace);
+        }
+        GotenbergObservationContext context = new GotenbergObservationContext(route, trace, partCount(body), payloadBytes(body));
+        Observation observation = Observation.createNotStarted(convention, DEFAULT_CONVENTION, () -> context, registry).start();
+
+        long start = System.nanoTime();
+        ResponseEntity<T> response;
+        try (GotenbergExchangeStats stats = GotenbergExchangeStats.open()) {
+            try (Observation.Scope _ = observation.openScope()) {
+                response = call.apply(body, sent);
+            } catch (RuntimeException e) {
+                record(context, stats, start);
+                if (e instanceof RestClientResponseException failed) context.setStatus(failed.getStatusCode().value());
+                observation.error(e);
+                observation.stop();
+                throw e;
+            }
+            record(context, stats, start);
+        }
+        context.setStatus(response.getStatusCode().value());
+        return new ObservedCall<>(response, observation, context);
+    }
+
+    private void record(GotenbergObservationContext context, GotenbergExchangeStats stats, long start) {
+        context.setTimeToFirstByteNanos(System.nanoTime() - start);
+        context.setQueueWaitNanos(stats.getQueueWaitNanos());
+        context.setNode(stats.getNode() != null ? stats.getNode() : defaultNode);
+    }
+
+    private static int partCount(MultiValueMap<String, Object> body) {
+        int count = 0;
+        for (List<Object> values : body.values()) count += values.size();
+        return count;
+    }
+
+    private static long payloadBytes(MultiValueMap<String, Object> body) {
+        long total = 0;
+        for (List<Object> values : body.values()) {
+            for (Object value : values) {
+                long size = switch (value) {
+                    case null -> 0;
+                    case CharSequence string -> string.toString().getBytes(StandardCharsets.UTF_8).length;
+                    case HttpEntity<?> entity when entity.getBody() instanceof byte[] bytes -> bytes.length;
+                    // Sizing an open resource would consume it
+                    case Resource resource when !resource.isOpen() -> contentLength(resource);
+                    case Resource _ -> -1;
+                    default -> String.valueOf(value).length();
+                };
+                if (size < 0) return -1;
+                total += size;
+            }
+        }
+        return total;
+    }
+
+    private static long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private record ObservedCall<T>(ResponseEntity<T> response, Observation observation, GotenbergObservationContext context) {
+    }
+
+    /// Counts the bytes of the response and stops the observation at the end of the stream.
+    private static final class ObservedInputStream extends FilterInputStream {
+        private final Observation observation;
+        private final GotenbergObservationContext context;
+        private long count;
+        private boolean stopped;
+
+        ObservedInputStream(InputStream in, Observation observation, GotenbergObservationContext context) {
+            super(in);
+            this.observation = observation;
+            this.context = context;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b;
+            try {
+                b = in.read();
+            } catch (IOException e) {
+                throw fail(e);
+            }
+            if (b >= 0) count++;
+            else stop();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read;
+            try {
+                read = in.read(b, off, len);
+            } catch (IOException e) {
+                throw fail(e);
+            }
+            if (read > 0) count += read;
+            else if (read < 0) stop();
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                stop();
+            }
+        }
+
+        private IOException fail(IOException e) {
+            if (!stopped) observation.error(e);
+            stop();
+            return e;
+        }
+
+        private void stop() {
+            if (stopped) return;
+            stopped = true;
+            context.setResponseBytes(count);
+            observation.stop();
+        }
+    }
+}
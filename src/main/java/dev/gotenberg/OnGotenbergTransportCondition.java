@@ -0,0 +1,24 @@
+package dev.gotenberg;
+
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/// Matches when any `gotenberg.transport.*` property is set. Otherwise the client keeps the request factory of
+/// the `RestClient.Builder`, with the `spring.http.client.*` settings, SSL bundles and customizers applied to it.
+class OnGotenbergTransportCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        ConditionMessage.Builder message = ConditionMessage.forCondition("Gotenberg transport");
+        Binder binder = Binder.get(context.getEnvironment());
+        if (binder.bind("gotenberg.transport", Bindable.mapOf(String.class, String.class)).isBound()) {
+            return ConditionOutcome.match(message.foundExactly("gotenberg.transport.*"));
+        }
+        return ConditionOutcome.noMatch(message.didNotFind("property").items("gotenberg.transport.*"));
+    }
+}
@@ -0,0 +1,26 @@
+package dev.gotenberg;
+
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/// Matches when either `gotenberg.base-url` or `gotenberg.nodes` is set.
+class OnGotenbergUrlCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        ConditionMessage.Builder message = ConditionMessage.forCondition("Gotenberg URL");
+        Binder binder = Binder.get(context.getEnvironment());
+        if (binder.bind("gotenberg.base-url", String.class).isBound()) {
+            return ConditionOutcome.match(message.foundExactly("gotenberg.base-url"));
+        }
+        if (binder.bind("gotenberg.nodes", Bindable.listOf(String.class)).isBound()) {
+            return ConditionOutcome.match(message.foundExactly("gotenberg.nodes"));
+        }
+        return ConditionOutcome.noMatch(message.didNotFind("property").items("gotenberg.base-url", "gotenberg.nodes"));
+    }
+}
@@ -0,0 +1,33 @@
+package dev.gotenberg;
+
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.BindResult;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.List;
+
+/// Matches when `gotenberg.health-check.enabled` is `true`, or when it is not set and `gotenberg.nodes` lists
+/// more than one node. With a single node there is nothing to fail over to, so probing it only adds traffic.
+class OnHealthCheckCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        ConditionMessage.Builder message = ConditionMessage.forCondition("Gotenberg health check");
+        Binder binder = Binder.get(context.getEnvironment());
+        BindResult<Boolean> enabled = binder.bind("gotenberg.health-check.enabled", Boolean.class);
+        if (enabled.isBound()) {
+            return enabled.get()
+                    ? ConditionOutcome.match(message.because("gotenberg.health-check.enabled is true"))
+                    : ConditionOutcome.noMatch(message.because("gotenberg.health-check.enabled is false"));
+        }
+        int nodes = binder.bind("gotenberg.nodes", Bindable.listOf(String.class)).map(List::size).orElse(0);
+        return nodes > 1
+                ? ConditionOutcome.match(message.because("%d nodes are configured".formatted(nodes)))
+                : ConditionOutcome.noMatch(message.because("a single node is configured"));
+    }
+}
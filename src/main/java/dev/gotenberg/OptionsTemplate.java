@@ -0,0 +1,68 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.Options;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/// Frozen copy of an [Options], shared across threads to start every request from.
+///
+/// Text, numbers, booleans and enums are encoded once, as the `text/plain` parts they are sent as. A request
+/// built from the template shares these encoded lists and only copies the ones it adds to, so it costs neither
+/// boxing and serializing every field again nor copying every part.
+/// Files of the template, such as shared stylesheets, must be readable more than once, and its requests can
+/// only give up after a [Options#timeout(java.time.Duration)], a fixed deadline would soon have passed.
+///
+/// ```java
+/// static final OptionsTemplate<ChromiumConvertOptions> A4 = OptionsTemplate.of(
+///         GotenbergClient.chromiumConvertOptions().paperWidth(8.27).paperHeight(11.7).printBackground(true));
+///
+/// gotenbergClient.convertHtml(html, A4.newRequest());
+/// ```
+public final class OptionsTemplate<O extends Options<O>> {
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final O prototype;
+
+    private OptionsTemplate(O prototype) {
+        this.prototype = prototype;
+    }
+
+    /// Freezes the current state of the options. Later changes to `options` do not affect the template.
+    public static <O extends Options<O>> OptionsTemplate<O> of(O options) {
+        if (options.parts.hasFixedDeadline()) {
+            throw new IllegalArgumentException("A template cannot have a deadline, set a timeout instead");
+        }
+        O prototype = options.copy();
+        for (String key : List.copyOf(prototype.parts.keySet())) {
+            List<Object> values = prototype.parts.getOrDefault(key, List.of());
+            List<Object> encoded = new ArrayList<>(values.size());
+            for (Object value : values) encoded.add(encode(key, value));
+            prototype.parts.share(key, List.copyOf(encoded));
+        }
+        return new OptionsTemplate<>(prototype);
+    }
+
+    /// New options holding the parts and headers of the template, to add the files of a request to.
+    public O newRequest() {
+        return prototype.copy();
+    }
+
+    private static Object encode(String name, Object value) {
+        return switch (value) {
+            case CharSequence _, Number _, Boolean _, Enum<?> _ -> {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(TEXT_PLAIN_UTF8);
+                yield new HttpEntity<>(value.toString().getBytes(StandardCharsets.UTF_8), headers);
+            }
+            case Resource resource when resource.isOpen() ->
+                    throw new IllegalArgumentException("Part '%s' of a template can only be read once: %s".formatted(name, resource));
+            default -> value;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package dev.gotenberg;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/// [GotenbergClient] keeping the priority set with [GotenbergClient.Options#priority(GotenbergPriority)] on the
+/// client.
+///
+/// The priority is kept on the options, it is never sent to Gotenberg, and handed to the [GotenbergBulkhead]
+/// of the calling thread. It must wrap the HTTP service proxy directly, so that it runs on the thread the
+/// interceptors run on.
+public class PriorityGotenbergClient extends GotenbergClientDecorator {
+    private static final ThreadLocal<GotenbergPriority> CURRENT = new ThreadLocal<>();
+
+    public PriorityGotenbergClient(GotenbergClient delegate) {
+        super(delegate);
+    }
+
+    /// Priority of the exchange running on the current thread, interactive by default.
+    static GotenbergPriority current() {
+        GotenbergPriority priority = CURRENT.get();
+        return priority != null ? priority : GotenbergPriority.INTERACTIVE;
+    }
+
+    @Override
+    protected ResponseEntity<InputStream> exchange(GotenbergRoute route, MultiValueMap<String, Object> body,
+                                                   MultiValueMap<String, String> headers, Call call) {
+        GotenbergPriority priority = body instanceof FormParts parts ? parts.getPriority() : null;
+        if (priority == null) return call.apply(body, headers);
+        return withPriority(priority, () -> call.apply(body, headers));
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Map<String, Object>>> readMetadata(MultiValueMap<String, Object> body,
+                                                                         MultiValueMap<String, String> headers) {
+        GotenbergPriority priority = body instanceof FormParts parts ? parts.getPriority() : null;
+        if (priority == null) return delegate.readMetadata(body, headers);
+        return withPriority(priority, () -> delegate.readMetadata(body, headers));
+    }
+
+    private static <T> T withPriority(GotenbergPriority priority, Supplier<T> call) {
+        GotenbergPriority outer = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return call.get();
+        } finally {
+            if (outer != null) CURRENT.set(outer);
+            else CURRENT.remove();
+        }
+    }
+}
@@ -1,4 +1,11 @@
 package dev.gotenberg;
 
-record PropertiesGotenbergConnectionDetails(String baseUrl) implements GotenbergConnectionDetails {
+import java.util.List;
+
+record PropertiesGotenbergConnectionDetails(String baseUrl, List<String> nodes) implements GotenbergConnectionDetails {
+
+    static PropertiesGotenbergConnectionDetails of(GotenbergProperties properties) {
+        List<String> nodes = properties.nodes().isEmpty() ? List.of(properties.baseUrl()) : properties.nodes();
+        return new PropertiesGotenbergConnectionDetails(nodes.getFirst(), nodes);
+    }
 }
@@ -0,0 +1,224 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import dev.gotenberg.GotenbergClient.ChromiumScreenshotOptions;
+import dev.gotenberg.GotenbergClient.LibreOfficeOptions;
+import dev.gotenberg.GotenbergClient.PdfConvertOptions;
+import dev.gotenberg.GotenbergClient.PdfMergeOptions;
+import dev.gotenberg.GotenbergClient.PdfReadMetadataOptions;
+import dev.gotenberg.GotenbergClient.PdfWriteMetadataOptions;
+import org.jspecify.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.springframework.http.MediaType.*;
+
+/// Reactive Spring HTTP Interface for Gotenberg API, meant to be backed by a `WebClient`.
+///
+/// It exposes the same routes as [GotenbergClient] and accepts the same options. Response bodies are
+/// streamed as `Flux<DataBuffer>`, and file parts created with [#filePart(String, Publisher)] or
+/// [#embedPart(String, Publisher)] are streamed to Gotenberg, so neither side of a conversion is
+/// buffered in memory.
+///
+/// As in [GotenbergClient], each route has a form-only exchange method and an overload also taking request
+/// headers, which falls back to the form-only method when there are no headers.
+@SuppressWarnings("unused")
+@HttpExchange(accept = APPLICATION_PDF_VALUE)
+public interface ReactiveGotenbergClient {
+
+    /// A `files` part streamed from the given publisher.
+    static HttpEntity<?> filePart(String filename, Publisher<DataBuffer> content) {
+        return part("files", filename, content);
+    }
+
+    /// An `embeds` part streamed from the given publisher.
+    static HttpEntity<?> embedPart(String filename, Publisher<DataBuffer> content) {
+        return part("embeds", filename, content);
+    }
+
+    private static HttpEntity<?> part(String name, String filename, Publisher<DataBuffer> content) {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.asyncPart(name, content, DataBuffer.class).filename(filename);
+        return builder.build().getFirst(name);
+    }
+
+    /// Implementations predating the header-carrying exchange methods can only send requests without headers.
+    private static <T> Mono<T> unsupportedHeaders(MultiValueMap<String, String> headers) {
+        return Mono.error(new UnsupportedOperationException("This ReactiveGotenbergClient does not send request headers: " + headers.keySet()));
+    }
+
+    //region Chromium Convert
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertHtml(String indexHtml, @Nullable ChromiumConvertOptions options) {
+        return convertHtml(indexHtml.getBytes(StandardCharsets.UTF_8), options);
+    }
+
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertHtml(byte[] indexHtml, @Nullable ChromiumConvertOptions options) {
+        ChromiumConvertOptions request = new ChromiumConvertOptions(options).file("index.html", indexHtml);
+        return convertHtml(request.parts, request.headers);
+    }
+
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertUrl(String url, @Nullable ChromiumConvertOptions options) {
+        ChromiumConvertOptions request = new ChromiumConvertOptions(options).add("url", url);
+        return convertUrl(request.parts, request.headers);
+    }
+
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertMarkdown(ChromiumConvertOptions options) {
+        return convertMarkdown(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/chromium/convert/html", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> convertHtml(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/convert/html", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertHtml(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? convertHtml(body) : unsupportedHeaders(headers);
+    }
+
+    @PostExchange(url = "/forms/chromium/convert/url", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> convertUrl(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/convert/url", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertUrl(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? convertUrl(body) : unsupportedHeaders(headers);
+    }
+
+    @PostExchange(url = "/forms/chromium/convert/markdown", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> convertMarkdown(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/convert/markdown", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertMarkdown(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? convertMarkdown(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+
+
+    //region Chromium Screenshot
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotHtml(String indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        return screenshotHtml(indexHtml.getBytes(StandardCharsets.UTF_8), options);
+    }
+
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotHtml(byte[] indexHtml, @Nullable ChromiumScreenshotOptions options) {
+        ChromiumScreenshotOptions request = new ChromiumScreenshotOptions(options).file("index.html", indexHtml);
+        return screenshotHtml(request.parts, request.headers);
+    }
+
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotUrl(String url, @Nullable ChromiumScreenshotOptions options) {
+        ChromiumScreenshotOptions request = new ChromiumScreenshotOptions(options).add("url", url);
+        return screenshotUrl(request.parts, request.headers);
+    }
+
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotMarkdown(ChromiumScreenshotOptions options) {
+        return screenshotMarkdown(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/chromium/screenshot/url", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    Mono<ResponseEntity<Flux<DataBuffer>>> screenshotUrl(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/screenshot/url", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotUrl(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? screenshotUrl(body) : unsupportedHeaders(headers);
+    }
+
+    @PostExchange(url = "/forms/chromium/screenshot/html", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    Mono<ResponseEntity<Flux<DataBuffer>>> screenshotHtml(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/screenshot/html", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotHtml(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? screenshotHtml(body) : unsupportedHeaders(headers);
+    }
+
+    @PostExchange(url = "/forms/chromium/screenshot/markdown", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    Mono<ResponseEntity<Flux<DataBuffer>>> screenshotMarkdown(@RequestBody MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/chromium/screenshot/markdown", contentType = MULTIPART_FORM_DATA_VALUE, accept = {IMAGE_PNG_VALUE, IMAGE_JPEG_VALUE, "image/webp"})
+    default Mono<ResponseEntity<Flux<DataBuffer>>> screenshotMarkdown(@RequestBody MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? screenshotMarkdown(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+
+
+    //region Libre Office Convert
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertLibreOffice(LibreOfficeOptions options) {
+        return convertLibreOffice(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/libreoffice/convert", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> convertLibreOffice(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/libreoffice/convert", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> convertLibreOffice(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? convertLibreOffice(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+
+
+    //region PDF Merge
+    default Mono<ResponseEntity<Flux<DataBuffer>>> pdfMerge(PdfMergeOptions options) {
+        return pdfMerge(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/pdfengines/merge", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> pdfMerge(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/merge", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> pdfMerge(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? pdfMerge(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+
+    //region PDF Convert
+    default Mono<ResponseEntity<Flux<DataBuffer>>> pdfConvert(PdfConvertOptions options) {
+        return pdfConvert(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/pdfengines/convert", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> pdfConvert(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/convert", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> pdfConvert(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? pdfConvert(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+
+    //region PDF Read Metadata
+    default Mono<ResponseEntity<Map<String, Map<String, Object>>>> readMetadata(PdfReadMetadataOptions options) {
+        return readMetadata(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/pdfengines/metadata/read", contentType = MULTIPART_FORM_DATA_VALUE, accept = APPLICATION_JSON_VALUE)
+    Mono<ResponseEntity<Map<String, Map<String, Object>>>> readMetadata(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/metadata/read", contentType = MULTIPART_FORM_DATA_VALUE, accept = APPLICATION_JSON_VALUE)
+    default Mono<ResponseEntity<Map<String, Map<String, Object>>>> readMetadata(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? readMetadata(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+
+    //region PDF Write Metadata
+    default Mono<ResponseEntity<Flux<DataBuffer>>> writeMetadata(PdfWriteMetadataOptions options) {
+        return writeMetadata(options.parts, options.headers);
+    }
+
+    @PostExchange(url = "/forms/pdfengines/metadata/write", contentType = MULTIPART_FORM_DATA_VALUE)
+    Mono<ResponseEntity<Flux<DataBuffer>>> writeMetadata(@RequestPart MultiValueMap<String, Object> body);
+
+    @PostExchange(url = "/forms/pdfengines/metadata/write", contentType = MULTIPART_FORM_DATA_VALUE)
+    default Mono<ResponseEntity<Flux<DataBuffer>>> writeMetadata(@RequestPart MultiValueMap<String, Object> body, @RequestHeader MultiValueMap<String, String> headers) {
+        return headers.isEmpty() ? writeMetadata(body) : unsupportedHeaders(headers);
+    }
+    //endregion
+}
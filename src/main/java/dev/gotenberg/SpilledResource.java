@@ -0,0 +1,219 @@
+package dev.gotenberg;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// A response body read once and kept so it can be read again, on the heap below a threshold and in a
+/// temporary file above it. The file is memory-mapped when read. Closing deletes the file, after which the
+/// content can no longer be read. Heap chunks borrowed from a [GotenbergResponseBuffer] go back to it once the
+/// resource and every stream opened on it are closed; a stream left open keeps them out of the pool.
+///
+/// Several readers can share it through [#retain(int)] and [#openAndRelease()], in which case it is closed
+/// once the last of them closes its stream.
+public final class SpilledResource extends AbstractResource implements Closeable {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final String filename;
+    private final Content content;
+
+    private SpilledResource(String filename, Content content) {
+        this.filename = filename;
+        this.content = content;
+    }
+
+    /// Reads `in` to the end, without closing it.
+    static SpilledResource of(InputStream in, String filename, long threshold) throws IOException {
+        byte[] head = in.readNBytes((int) Math.min(threshold + 1, MAX_ARRAY_SIZE));
+        if (head.length <= threshold) return new SpilledResource(filename, new Content(List.of(head), head.length, null, null));
+        return new SpilledResource(filename, new Content(List.of(), 0, null, spill(List.of(head), head.length, in)));
+    }
+
+    /// Reads `in` to the end, without closing it, into chunks borrowed from `pool` if it fits.
+    static SpilledResource of(InputStream in, String filename, GotenbergResponseBuffer pool) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        try {
+            int threshold = pool.threshold();
+            int length = 0;
+            while (length < threshold) {
+                byte[] chunk = pool.borrow();
+                chunks.add(chunk);
+                int wanted = Math.min(chunk.length, threshold - length);
+                int read = in.readNBytes(chunk, 0, wanted);
+                length += read;
+                if (read < wanted) {
+                    if (read == 0) pool.giveBack(chunks.removeLast());
+                    return new SpilledResource(filename, new Content(chunks, length, pool, null));
+                }
+            }
+            int next = in.read();
+            if (next == -1) return new SpilledResource(filename, new Content(chunks, length, pool, null));
+            Path file = spill(chunks, length, new SequenceInputStream(new ByteArrayInputStream(new byte[]{(byte) next}), in));
+            chunks.forEach(pool::giveBack);
+            return new SpilledResource(filename, new Content(List.of(), 0, null, file));
+        } catch (IOException | RuntimeException e) {
+            chunks.forEach(pool::giveBack);
+            throw e;
+        }
+    }
+
+    private static Path spill(List<byte[]> head, int length, InputStream rest) throws IOException {
+        Path file = Files.createTempFile("gotenberg-", ".spill");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int remaining = length;
+            for (byte[] chunk : head) {
+                int count = Math.min(chunk.length, remaining);
+                out.write(chunk, 0, count);
+                remaining -= count;
+            }
+            rest.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /// The same content under another filename. Closing either closes both.
+    SpilledResource renamed(String filename) {
+        return new SpilledResource(filename, content);
+    }
+
+    /// Whether the content went to a temporary file.
+    public boolean isSpilled() {
+        return content.file != null;
+    }
+
+    /// Adds `count` readers, each of which must call [#openAndRelease()] or [#release()] once.
+    void retain(int count) {
+        content.readers.addAndGet(count);
+    }
+
+    /// A stream over the content which releases this reader once closed.
+    InputStream openAndRelease() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        return new FilterInputStream(getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (closed.compareAndSet(false, true)) release();
+                }
+            }
+        };
+    }
+
+    /// Gives up a reader, closing the content once there are none left.
+    void release() throws IOException {
+        if (content.readers.decrementAndGet() == 0) close();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        content.checkOpen(filename);
+        if (content.file == null) {
+            // The chunks must not go back to the pool while this stream can still read them
+            if (!content.lease()) throw new IOException("Gotenberg result [" + filename + "] is closed");
+            AtomicBoolean closed = new AtomicBoolean();
+            return new FilterInputStream(content.stream()) {
+                @Override
+                public void close() {
+                    if (closed.compareAndSet(false, true)) content.unlease();
+                }
+            };
+        }
+        //noinspection DataFlowIssue
+        try (FileChannel channel = FileChannel.open(content.file)) {
+            long size = channel.size();
+            // A mapping is limited to 2 GB
+            if (size > Integer.MAX_VALUE) return Files.newInputStream(content.file);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return DefaultDataBufferFactory.sharedInstance.wrap(buffer).asInputStream();
+        }
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        content.checkOpen(filename);
+        if (content.file == null) return content.length;
+        //noinspection DataFlowIssue
+        return Files.size(content.file);
+    }
+
+    @Override
+    public boolean exists() {
+        return !content.closed.get();
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Gotenberg result [" + filename + "]" + (content.file != null ? " spilled to " + content.file : "");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!content.closed.compareAndSet(false, true)) return;
+        if (content.file != null) Files.deleteIfExists(content.file);
+        else content.unlease();
+    }
+
+    /// The content shared by a resource and its renamed copies. The heap chunks are leased once by the resource
+    /// and once by each open stream.
+    private record Content(List<byte[]> chunks, int length, @Nullable GotenbergResponseBuffer pool, @Nullable Path file,
+                           AtomicInteger readers, AtomicInteger leases, AtomicBoolean closed) {
+
+        Content(List<byte[]> chunks, int length, @Nullable GotenbergResponseBuffer pool, @Nullable Path file) {
+            this(chunks, length, pool, file, new AtomicInteger(1), new AtomicInteger(1), new AtomicBoolean());
+        }
+
+        void checkOpen(String filename) throws IOException {
+            if (closed.get()) throw new IOException("Gotenberg result [" + filename + "] is closed");
+        }
+
+        /// Whether a lease was taken, which fails once the chunks went back to the pool.
+        boolean lease() {
+            for (int count = leases.get(); count > 0; count = leases.get()) {
+                if (leases.compareAndSet(count, count + 1)) return true;
+            }
+            return false;
+        }
+
+        void unlease() {
+            if (leases.decrementAndGet() == 0 && pool != null) chunks.forEach(pool::giveBack);
+        }
+
+        InputStream stream() {
+            List<InputStream> streams = new ArrayList<>(chunks.size());
+            int remaining = length;
+            for (byte[] chunk : chunks) {
+                int count = Math.min(chunk.length, remaining);
+                streams.add(new ByteArrayInputStream(chunk, 0, count));
+                remaining -= count;
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+    }
+}
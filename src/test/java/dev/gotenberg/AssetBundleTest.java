@@ -0,0 +1,93 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class AssetBundleTest extends GotenbergContainerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldConvertWithAssets() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("style.css"), "h1 { color: red; }");
+        AssetBundle assets = new AssetBundle(List.of(directory.resolve("style.css")), true, Duration.ofSeconds(5));
+
+        // Act
+        ResponseEntity<InputStream> response = gotenbergClient.convertHtml(
+                "<html><head><link rel=\"stylesheet\" href=\"style.css\"></head><body><h1>Assets</h1></body></html>",
+                assets.attachTo(GotenbergClient.chromiumConvertOptions()));
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        byte[] bytes = response.getBody().readAllBytes();
+        assertTrue(bytes[0] == '%' && bytes[1] == 'P' && bytes[2] == 'D' && bytes[3] == 'F');
+    }
+
+    @Test
+    void shouldAttachEveryFileOfDirectory() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("a.css"), "a");
+        Files.writeString(directory.resolve("b.css"), "bb");
+        AssetBundle assets = AssetBundle.of(directory);
+
+        // Act
+        ChromiumConvertOptions options = assets.attachTo(GotenbergClient.chromiumConvertOptions());
+
+        // Assert
+        assertEquals(3, assets.getSize());
+        List<Object> files = options.parts.get("files");
+        assertEquals(List.of("a.css", "b.css"), files.stream().map(file -> ((Resource) file).getFilename()).toList());
+        assertEquals("bb", ((Resource) files.get(1)).getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldReloadChangedFiles() throws Exception {
+        // Arrange
+        Path style = directory.resolve("style.css");
+        Files.writeString(style, "h1 {}");
+        AssetBundle assets = new AssetBundle(List.of(style), false, Duration.ZERO);
+
+        // Act
+        Files.writeString(style, "h1 { color: red; }");
+        Files.setLastModifiedTime(style, FileTime.from(Instant.now().plusSeconds(1)));
+        ChromiumConvertOptions options = assets.attachTo(GotenbergClient.chromiumConvertOptions());
+
+        // Assert
+        assertEquals(1, assets.getReloadCount());
+        assertEquals("h1 { color: red; }", ((Resource) options.parts.getFirst("files")).getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepPreviousVersionWhenFileIsMissing() throws Exception {
+        // Arrange
+        Path style = directory.resolve("style.css");
+        Files.writeString(style, "h1 {}");
+        AssetBundle assets = new AssetBundle(List.of(style), false, Duration.ZERO);
+
+        // Act
+        Files.delete(style);
+        ChromiumConvertOptions options = assets.attachTo(GotenbergClient.chromiumConvertOptions());
+
+        // Assert
+        assertEquals(0, assets.getReloadCount());
+        assertEquals("h1 {}", ((Resource) options.parts.getFirst("files")).getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,66 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class CachingGotenbergClientTest extends GotenbergContainerTest {
+
+    private static final String HTML = "<html><body><h1>Invoice 42</h1></body></html>";
+
+    @Test
+    void shouldServeIdenticalConversionFromCache() throws Exception {
+        // Arrange
+        var cache = new GotenbergResultCache(1024 * 1024 * 16, 1024 * 1024 * 8, null, 0);
+        var client = new CachingGotenbergClient(gotenbergClient, cache);
+
+        // Act
+        byte[] first = client.convertHtml(HTML, null).getBody().readAllBytes();
+        ResponseEntity<InputStream> second = client.convertHtml(HTML, null);
+
+        // Assert
+        assertEquals(200, second.getStatusCode().value());
+        assertArrayEquals(first, second.getBody().readAllBytes());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHeapHitCount());
+    }
+
+    @Test
+    void shouldNotCacheDifferentOptions() throws Exception {
+        // Arrange
+        var cache = new GotenbergResultCache(1024 * 1024 * 16, 1024 * 1024 * 8, null, 0);
+        var client = new CachingGotenbergClient(gotenbergClient, cache);
+
+        // Act
+        client.convertHtml(HTML, GotenbergClient.chromiumConvertOptions().landscape(true)).getBody().close();
+        client.convertHtml(HTML, GotenbergClient.chromiumConvertOptions().landscape(false)).getBody().close();
+
+        // Assert
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHeapHitCount());
+    }
+
+    @Test
+    void shouldReadResultBackFromDisk(@TempDir Path directory) throws Exception {
+        // Arrange
+        byte[] expected = new CachingGotenbergClient(gotenbergClient,
+                new GotenbergResultCache(1024 * 1024 * 16, 1024 * 1024 * 8, directory, 1024 * 1024 * 64))
+                .convertHtml(HTML, null).getBody().readAllBytes();
+        var restarted = new GotenbergResultCache(1024 * 1024 * 16, 1024 * 1024 * 8, directory, 1024 * 1024 * 64);
+
+        // Act
+        ResponseEntity<InputStream> response = new CachingGotenbergClient(gotenbergClient, restarted).convertHtml(HTML, null);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertArrayEquals(expected, response.getBody().readAllBytes());
+        assertEquals(1, restarted.getDiskHitCount());
+    }
+}
@@ -0,0 +1,89 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingGotenbergClientTest {
+
+    @Test
+    void shouldSendIdenticalConcurrentRequestsOnce() throws Exception {
+        // Arrange
+        try (GotenbergStubServer stub = new GotenbergStubServer().latency(Duration.ofMillis(500)).start()) {
+            CoalescingGotenbergClient client = new CoalescingGotenbergClient(stub.client(builder -> {}), 0);
+            List<CompletableFuture<ResponseEntity<InputStream>>> responses = new ArrayList<>();
+
+            // Act
+            try (var asyncClient = new GotenbergAsyncClient(client)) {
+                for (int i = 0; i < 5; i++) {
+                    responses.add(asyncClient.convertHtml("<html><body>Statement</body></html>", GotenbergClient.chromiumConvertOptions()));
+                }
+
+                // Assert
+                for (CompletableFuture<ResponseEntity<InputStream>> response : responses) {
+                    try (InputStream in = response.join().getBody()) {
+                        assertArrayEquals(GotenbergStubServer.PDF, in.readAllBytes());
+                    }
+                }
+            }
+            assertEquals(1, stub.getRequestCount(GotenbergRoute.CHROMIUM_CONVERT_HTML));
+            assertEquals(4, client.getCoalescedCount());
+        }
+    }
+
+    @Test
+    void shouldSendDifferentRequests() throws Exception {
+        // Arrange
+        try (GotenbergStubServer stub = new GotenbergStubServer().latency(Duration.ofMillis(200)).start()) {
+            CoalescingGotenbergClient client = new CoalescingGotenbergClient(stub.client(builder -> {}), 1024);
+
+            // Act
+            try (var asyncClient = new GotenbergAsyncClient(client)) {
+                var first = asyncClient.convertHtml("<html><body>First</body></html>", null);
+                var second = asyncClient.convertHtml("<html><body>Second</body></html>", null);
+
+                // Assert
+                assertArrayEquals(GotenbergStubServer.PDF, first.join().getBody().readAllBytes());
+                assertArrayEquals(GotenbergStubServer.PDF, second.join().getBody().readAllBytes());
+            }
+            assertEquals(2, stub.getRequestCount(GotenbergRoute.CHROMIUM_CONVERT_HTML));
+            assertEquals(0, client.getCoalescedCount());
+        }
+    }
+
+    @Test
+    void shouldFailJoinedCallersWhenFirstOneThrowsError() {
+        // Arrange
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            GotenbergClient delegate = stub.client(builder -> builder.requestInterceptor((request, body, execution) -> {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new AssertionError("Simulated");
+            }));
+            CoalescingGotenbergClient client = new CoalescingGotenbergClient(delegate, 1024);
+
+            // Act
+            try (var asyncClient = new GotenbergAsyncClient(client)) {
+                var first = asyncClient.convertHtml("<html></html>", null);
+                var second = asyncClient.convertHtml("<html></html>", null);
+
+                // Assert
+                assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+                assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+            }
+            assertEquals(1, client.getCoalescedCount());
+        }
+    }
+}
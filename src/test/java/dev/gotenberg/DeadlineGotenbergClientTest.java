@@ -0,0 +1,136 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineGotenbergClientTest {
+
+    @Test
+    void shouldAbortWhenDeadlinePasses() {
+        try (GotenbergStubServer stub = new GotenbergStubServer().latency(Duration.ofSeconds(5)).start()) {
+            // Arrange
+            GotenbergClient client = new DeadlineGotenbergClient(stub.client(builder -> {}));
+            long start = System.nanoTime();
+
+            // Act
+            assertThrows(GotenbergDeadlineExceededException.class, () -> client.convertHtml("<html></html>",
+                    GotenbergClient.chromiumConvertOptions().timeout(Duration.ofMillis(300))));
+
+            // Assert
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+
+    @Test
+    void shouldExposeRemainingTimeDuringExchange() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Arrange
+            List<Duration> remaining = new CopyOnWriteArrayList<>();
+            GotenbergClient client = new DeadlineGotenbergClient(stub.client(builder -> builder.requestInterceptor((request, body, execution) -> {
+                remaining.add(DeadlineGotenbergClient.remainingTime());
+                return execution.execute(request, body);
+            })));
+
+            // Act
+            client.convertHtml("<html></html>", GotenbergClient.chromiumConvertOptions().timeout(Duration.ofSeconds(10)))
+                    .getBody().close();
+
+            // Assert
+            assertEquals(1, remaining.size());
+            assertTrue(remaining.getFirst().compareTo(Duration.ZERO) > 0);
+            assertTrue(remaining.getFirst().compareTo(Duration.ofSeconds(10)) <= 0);
+            assertNull(DeadlineGotenbergClient.remainingTime());
+        }
+    }
+
+    @Test
+    void shouldPassWithinDeadline() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Arrange
+            GotenbergClient client = new DeadlineGotenbergClient(stub.client(builder -> {}));
+
+            // Act
+            ResponseEntity<InputStream> response = client.convertHtml("<html></html>",
+                    GotenbergClient.chromiumConvertOptions().waitDelay("1m").timeout(Duration.ofSeconds(10)));
+
+            // Assert
+            assertArrayEquals(GotenbergStubServer.PDF, response.getBody().readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldCountTimeoutFromEachRequestOfTemplate() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Arrange
+            GotenbergClient client = new DeadlineGotenbergClient(stub.client(builder -> {}));
+            OptionsTemplate<ChromiumConvertOptions> template = OptionsTemplate.of(
+                    GotenbergClient.chromiumConvertOptions().timeout(Duration.ofMillis(500)));
+            client.convertHtml("<html></html>", template.newRequest()).getBody().close();
+            Thread.sleep(700);
+
+            // Act
+            ResponseEntity<InputStream> response = client.convertHtml("<html></html>", template.newRequest());
+
+            // Assert
+            assertArrayEquals(GotenbergStubServer.PDF, response.getBody().readAllBytes());
+            assertEquals(2, stub.getRequestCount(GotenbergRoute.CHROMIUM_CONVERT_HTML));
+        }
+    }
+
+    @Test
+    void shouldCapWaitDelayOfTemplateRequests() throws Exception {
+        List<String> forms = new CopyOnWriteArrayList<>();
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Arrange
+            GotenbergClient client = new DeadlineGotenbergClient(stub.client(builder -> builder.requestInterceptor((request, body, execution) -> {
+                forms.add(new String(body, StandardCharsets.UTF_8));
+                return execution.execute(request, body);
+            })));
+            OptionsTemplate<ChromiumConvertOptions> template = OptionsTemplate.of(
+                    GotenbergClient.chromiumConvertOptions().waitDelay("1m").timeout(Duration.ofSeconds(10)));
+
+            // Act
+            client.convertHtml("<html></html>", template.newRequest()).getBody().close();
+
+            // Assert
+            assertEquals(1, forms.size());
+            assertFalse(forms.getFirst().contains("\r\n\r\n1m\r\n"));
+            assertTrue(Pattern.compile("\r\n\r\n\\d+ms\r\n").matcher(forms.getFirst()).find());
+        }
+    }
+
+    @Test
+    void shouldNotSendExpiredRequests() {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Arrange
+            GotenbergClient client = new DeadlineGotenbergClient(stub.client(builder -> {}));
+
+            // Act
+            assertThrows(GotenbergDeadlineExceededException.class, () -> client.convertHtml("<html></html>",
+                    GotenbergClient.chromiumConvertOptions().deadline(Instant.now().minusSeconds(1))));
+
+            // Assert
+            assertEquals(0, stub.getRequestCount(GotenbergRoute.CHROMIUM_CONVERT_HTML));
+        }
+    }
+
+    @Test
+    void shouldParseGoDurations() {
+        assertEquals(Duration.ofMillis(500), DeadlineGotenbergClient.parseGoDuration("500ms"));
+        assertEquals(Duration.ofSeconds(90), DeadlineGotenbergClient.parseGoDuration("1m30s"));
+        assertEquals(Duration.ofMillis(1500), DeadlineGotenbergClient.parseGoDuration("1.5s"));
+        assertNull(DeadlineGotenbergClient.parseGoDuration("soon"));
+    }
+}
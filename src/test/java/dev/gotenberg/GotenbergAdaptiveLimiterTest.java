@@ -0,0 +1,109 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergAdaptiveLimiterTest {
+
+    private static String node(String baseUrl) {
+        return URI.create(baseUrl).getAuthority();
+    }
+
+    @Test
+    void shouldGrowLimitWhileSaturated() throws Exception {
+        // Arrange
+        var limiter = new GotenbergAdaptiveLimiter(1, 1, 10, 0.5, 100, Duration.ofSeconds(5));
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            GotenbergClient client = stub.client(builder -> builder.requestInterceptor(limiter));
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                client.convertUrl("https://example.com", null).getBody().close();
+            }
+
+            // Assert
+            assertEquals(3, limiter.getLimit(node(stub.getBaseUrl()), GotenbergModule.CHROMIUM));
+            assertEquals(0, limiter.getInFlight(node(stub.getBaseUrl()), GotenbergModule.CHROMIUM));
+        }
+    }
+
+    @Test
+    void shouldBackOffWhenOverloaded() {
+        // Arrange
+        var limiter = new GotenbergAdaptiveLimiter(8, 1, 10, 0.5, 100, Duration.ofSeconds(5));
+        try (GotenbergStubServer unavailable = new GotenbergStubServer().errorRate(1.0, 503).start();
+             GotenbergStubServer throttling = new GotenbergStubServer().errorRate(1.0, 429).start();
+             GotenbergStubServer slow = new GotenbergStubServer().latency(Duration.ofSeconds(2)).start()) {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory();
+            requestFactory.setReadTimeout(Duration.ofMillis(200));
+            GotenbergClient unavailableClient = unavailable.client(builder -> builder.requestInterceptor(limiter));
+            GotenbergClient throttlingClient = throttling.client(builder -> builder.requestInterceptor(limiter));
+            GotenbergClient slowClient = slow.client(builder -> builder.requestFactory(requestFactory).requestInterceptor(limiter));
+
+            // Act
+            assertThrows(HttpServerErrorException.class, () -> unavailableClient.convertUrl("https://example.com", null));
+            assertThrows(HttpClientErrorException.class, () -> throttlingClient.convertUrl("https://example.com", null));
+            assertThrows(ResourceAccessException.class, () -> slowClient.convertUrl("https://example.com", null));
+
+            // Assert
+            assertEquals(4, limiter.getLimit(node(unavailable.getBaseUrl()), GotenbergModule.CHROMIUM));
+            assertEquals(4, limiter.getLimit(node(throttling.getBaseUrl()), GotenbergModule.CHROMIUM));
+            assertEquals(4, limiter.getLimit(node(slow.getBaseUrl()), GotenbergModule.CHROMIUM));
+        }
+    }
+
+    @Test
+    void shouldBackOffWhenLatencyClimbs() throws Exception {
+        // Arrange
+        var limiter = new GotenbergAdaptiveLimiter(4, 1, 4, 0.5, 3, Duration.ofSeconds(5));
+        AtomicInteger requests = new AtomicInteger();
+        try (GotenbergStubServer stub = new GotenbergStubServer()
+                .latency(_ -> Duration.ofMillis(requests.incrementAndGet() <= 5 ? 50 : 1000)).start()) {
+            GotenbergClient client = stub.client(builder -> builder.requestInterceptor(limiter));
+            for (int i = 0; i < 5; i++) {
+                client.convertUrl("https://example.com", null).getBody().close();
+            }
+
+            // Act
+            client.convertUrl("https://example.com", null).getBody().close();
+
+            // Assert
+            assertEquals(3, limiter.getLimit(node(stub.getBaseUrl()), GotenbergModule.CHROMIUM));
+        }
+    }
+
+    @Test
+    void shouldIgnoreFailuresUnrelatedToLoad() {
+        // Arrange
+        var limiter = new GotenbergAdaptiveLimiter(4, 1, 10, 0.5, 100, Duration.ofSeconds(5));
+        String closed;
+        GotenbergClient unreachable;
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            closed = stub.getBaseUrl();
+            unreachable = stub.client(builder -> builder.requestInterceptor(limiter));
+        }
+        try (GotenbergStubServer failing = new GotenbergStubServer().errorRate(1.0, 500).start()) {
+            GotenbergClient failingClient = failing.client(builder -> builder.requestInterceptor(limiter));
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                assertThrows(HttpServerErrorException.class, () -> failingClient.convertUrl("https://example.com", null));
+                assertThrows(ResourceAccessException.class, () -> unreachable.convertUrl("https://example.com", null));
+            }
+
+            // Assert
+            assertEquals(4, limiter.getLimit(node(failing.getBaseUrl()), GotenbergModule.CHROMIUM));
+            assertEquals(4, limiter.getLimit(node(closed), GotenbergModule.CHROMIUM));
+            assertEquals(0, limiter.getInFlight(node(closed), GotenbergModule.CHROMIUM));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class GotenbergAsyncClientTest extends GotenbergContainerTest {
+
+    private static GotenbergAsyncClient asyncClient;
+
+    @BeforeAll
+    static void setUpAsyncClient() {
+        asyncClient = new GotenbergAsyncClient(gotenbergClient);
+    }
+
+    @AfterAll
+    static void tearDownAsyncClient() {
+        asyncClient.close();
+    }
+
+    @Test
+    void shouldConvertHtmlAsynchronously() {
+        // Arrange
+        String html = "<html><body><h1>Async</h1></body></html>";
+
+        // Act
+        ResponseEntity<InputStream> response = asyncClient.convertHtml(html, null).join();
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertDoesNotThrow(() -> {
+            byte[] bytes = response.getBody().readAllBytes();
+            assertTrue(bytes[0] == '%' && bytes[1] == 'P' && bytes[2] == 'D' && bytes[3] == 'F');
+        });
+    }
+
+    @Test
+    void shouldRunConversionsConcurrently() {
+        // Arrange
+        List<CompletableFuture<ResponseEntity<InputStream>>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> asyncClient.convertHtml("<html><body>Page %d</body></html>".formatted(i), null))
+                .toList();
+
+        // Act
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        for (CompletableFuture<ResponseEntity<InputStream>> future : futures) {
+            assertEquals(200, future.join().getStatusCode().value());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergBatchTest {
+
+    private GotenbergStubServer stub;
+    private GotenbergClient client;
+
+    @BeforeEach
+    void startStub() {
+        stub = new GotenbergStubServer()
+                .seed(42)
+                .latency(Duration.ofMillis(5), Duration.ofMillis(50))
+                .start();
+        client = stub.client(builder -> {});
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void shouldHandOutResultsInInputOrder() {
+        // Arrange
+        Stream<GotenbergBatch.Job<Integer>> jobs = IntStream.range(0, 40)
+                .mapToObj(i -> GotenbergBatch.Job.html(i, "<html>" + i + "</html>", null));
+
+        // Act
+        List<Integer> keys;
+        try (GotenbergBatch batch = new GotenbergBatch(client, 4, Duration.ofSeconds(10));
+             Stream<GotenbergBatch.Result<Integer>> results = batch.runInOrder(jobs)) {
+            keys = results.peek(GotenbergBatchTest::drain).map(GotenbergBatch.Result::key).toList();
+        }
+
+        // Assert
+        assertEquals(IntStream.range(0, 40).boxed().toList(), keys);
+        assertTrue(stub.getMaxInFlight() <= 4);
+    }
+
+    @Test
+    void shouldHandOutEveryResultAsCompleted() {
+        // Arrange
+        Stream<GotenbergBatch.Job<Integer>> jobs = IntStream.range(0, 40)
+                .mapToObj(i -> GotenbergBatch.Job.html(i, "<html>" + i + "</html>", null));
+
+        // Act
+        List<GotenbergBatch.Result<Integer>> results;
+        try (GotenbergBatch batch = new GotenbergBatch(client, 8, Duration.ofSeconds(10))) {
+            results = batch.runAsCompleted(jobs).peek(GotenbergBatchTest::drain).toList();
+        }
+
+        // Assert
+        assertEquals(40, results.size());
+        assertTrue(results.stream().allMatch(GotenbergBatch.Result::isSuccess));
+        assertTrue(stub.getMaxInFlight() <= 8);
+    }
+
+    @Test
+    void shouldReportTimedOutJobs() {
+        // Arrange
+        stub.latency(Duration.ofSeconds(2));
+        Stream<GotenbergBatch.Job<Integer>> jobs = Stream.of(GotenbergBatch.Job.html(1, "<html></html>", null));
+
+        // Act
+        List<GotenbergBatch.Result<Integer>> results;
+        try (GotenbergBatch batch = new GotenbergBatch(client, 1, Duration.ofMillis(100))) {
+            results = batch.runInOrder(jobs).toList();
+        }
+
+        // Assert
+        assertFalse(results.getFirst().isSuccess());
+        assertInstanceOf(TimeoutException.class, results.getFirst().error());
+    }
+
+    private static void drain(GotenbergBatch.Result<?> result) {
+        assertDoesNotThrow(() -> {
+            try (InputStream body = result.response().getBody()) {
+                body.readAllBytes();
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class GotenbergBulkheadTest extends GotenbergContainerTest {
+
+    @Test
+    void shouldQueueRequestsBeyondLimit() {
+        // Arrange
+        var bulkhead = new GotenbergBulkhead(Map.of(GotenbergModule.CHROMIUM, 1), 10, Duration.ofSeconds(30));
+        var client = createClient(builder -> builder.requestInterceptor(bulkhead));
+        var options = GotenbergClient.chromiumConvertOptions().waitDelay("1s");
+
+        // Act
+        try (var asyncClient = new GotenbergAsyncClient(client)) {
+            var first = asyncClient.convertHtml("<html><body>First</body></html>", options);
+            var second = asyncClient.convertHtml("<html><body>Second</body></html>", options);
+
+            // Assert
+            assertEquals(200, first.join().getStatusCode().value());
+            assertEquals(200, second.join().getStatusCode().value());
+        }
+        assertEquals(2, bulkhead.getAdmittedCount(GotenbergModule.CHROMIUM));
+        assertTrue(bulkhead.getTotalWaitTime(GotenbergModule.CHROMIUM, TimeUnit.MILLISECONDS) > 0);
+        assertEquals(0, bulkhead.getActive(GotenbergModule.CHROMIUM));
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() {
+        // Arrange
+        var bulkhead = new GotenbergBulkhead(Map.of(GotenbergModule.CHROMIUM, 1), 0, Duration.ofSeconds(30));
+        var client = createClient(builder -> builder.requestInterceptor(bulkhead));
+        var options = GotenbergClient.chromiumConvertOptions().waitDelay("2s");
+
+        // Act
+        try (var asyncClient = new GotenbergAsyncClient(client)) {
+            CompletableFuture<ResponseEntity<InputStream>> first = asyncClient.convertHtml("<html><body>First</body></html>", options);
+            while (bulkhead.getActive(GotenbergModule.CHROMIUM) == 0 && !first.isDone()) Thread.onSpinWait();
+            CompletableFuture<ResponseEntity<InputStream>> second = asyncClient.convertHtml("<html><body>Second</body></html>", options);
+
+            // Assert
+            CompletionException exception = assertThrows(CompletionException.class, second::join);
+            assertInstanceOf(GotenbergRejectedException.class, exception.getCause());
+            assertEquals(200, first.join().getStatusCode().value());
+        }
+        assertEquals(1, bulkhead.getRejectedCount(GotenbergModule.CHROMIUM));
+    }
+}
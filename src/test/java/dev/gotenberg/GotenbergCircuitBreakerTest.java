@@ -0,0 +1,66 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergCircuitBreakerTest {
+
+    @Test
+    void shouldOpenAfterFailuresAndRejectImmediately() {
+        // Arrange
+        GotenbergCircuitBreaker circuitBreaker = new GotenbergCircuitBreaker(0.5, 1.0, Duration.ofMinutes(1),
+                10, 4, Duration.ofMinutes(1), 1);
+        List<Object> events = new CopyOnWriteArrayList<>();
+        circuitBreaker.setApplicationEventPublisher(events::add);
+        try (GotenbergStubServer stub = new GotenbergStubServer().errorRate(1.0, 503).start()) {
+            GotenbergClient client = stub.client(builder -> builder.requestInterceptor(circuitBreaker));
+            String node = URI.create(stub.getBaseUrl()).getAuthority();
+            for (int i = 0; i < 4; i++) {
+                assertThrows(HttpServerErrorException.class, () -> client.convertLibreOffice(GotenbergClient.libreOfficeOptions()));
+            }
+
+            // Act
+            GotenbergCircuitOpenException exception = assertThrows(GotenbergCircuitOpenException.class,
+                    () -> client.convertLibreOffice(GotenbergClient.libreOfficeOptions()));
+
+            // Assert
+            assertEquals(node, exception.getNode());
+            assertEquals(4, stub.getRequestCount(GotenbergRoute.LIBREOFFICE_CONVERT));
+            assertEquals(GotenbergCircuitBreaker.State.OPEN, circuitBreaker.getState(node, GotenbergModule.LIBREOFFICE));
+            assertEquals(GotenbergCircuitBreaker.State.CLOSED, circuitBreaker.getState(node, GotenbergModule.CHROMIUM));
+            assertEquals(1, circuitBreaker.getRejectedCount(node, GotenbergModule.LIBREOFFICE));
+            assertEquals(List.of(new GotenbergCircuitBreaker.StateTransition(node, GotenbergModule.LIBREOFFICE,
+                    GotenbergCircuitBreaker.State.CLOSED, GotenbergCircuitBreaker.State.OPEN)), events);
+        }
+    }
+
+    @Test
+    void shouldProbeOnceOpenDurationElapsed() throws Exception {
+        // Arrange
+        GotenbergCircuitBreaker circuitBreaker = new GotenbergCircuitBreaker(0.5, 1.0, Duration.ofMinutes(1),
+                2, 2, Duration.ofMillis(200), 1);
+        try (GotenbergStubServer stub = new GotenbergStubServer().errorRate(1.0, 500).start()) {
+            GotenbergClient client = stub.client(builder -> builder.requestInterceptor(circuitBreaker));
+            String node = URI.create(stub.getBaseUrl()).getAuthority();
+            for (int i = 0; i < 2; i++) {
+                assertThrows(HttpServerErrorException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+            }
+            Thread.sleep(300);
+
+            // Act
+            assertThrows(HttpServerErrorException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+
+            // Assert
+            assertEquals(3, stub.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+            assertEquals(GotenbergCircuitBreaker.State.OPEN, circuitBreaker.getState(node, GotenbergModule.PDF_ENGINES));
+            assertThrows(GotenbergCircuitOpenException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.function.Consumer;
+
 @Testcontainers
 public abstract class GotenbergContainerTest {
 
@@ -20,18 +22,22 @@ public abstract class GotenbergContainerTest {
 
     @BeforeAll
     public static void setUpClient() {
+        gotenbergClient = createClient(builder -> {});
+    }
+
+    protected static GotenbergClient createClient(Consumer<RestClient.Builder> customizer) {
         String baseUrl = String.format("http://%s:%d", 
             GOTENBERG.getHost(), 
             GOTENBERG.getFirstMappedPort());
         
-        RestClient restClient = RestClient.builder()
-                .baseUrl(baseUrl)
-                .build();
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(baseUrl);
+        customizer.accept(builder);
         
         HttpServiceProxyFactory factory = HttpServiceProxyFactory
-                .builderFor(RestClientAdapter.create(restClient))
+                .builderFor(RestClientAdapter.create(builder.build()))
                 .build();
         
-        gotenbergClient = factory.createClient(GotenbergClient.class);
+        return factory.createClient(GotenbergClient.class);
     }
 }
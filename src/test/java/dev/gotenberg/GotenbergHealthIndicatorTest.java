@@ -0,0 +1,47 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergHealthIndicatorTest {
+
+    @Test
+    void shouldBeUpWhileOneNodeIsInRotation() {
+        // Arrange
+        var pool = new GotenbergNodePool("http://gotenberg-1:3000", List.of("http://gotenberg-1:3000", "http://gotenberg-2:3000"));
+        pool.getNodes().get(0).setVersion("8.21.1");
+        pool.eject(pool.getNodes().get(1));
+
+        // Act
+        Health health = new GotenbergHealthIndicator(pool).health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(Map.of(
+                "http://gotenberg-1:3000", Map.of("status", "UP", "version", "8.21.1"),
+                "http://gotenberg-2:3000", Map.of("status", "DOWN")), health.getDetails().get("nodes"));
+    }
+
+    @Test
+    void shouldBeDownWhenEveryNodeIsEjected() {
+        // Arrange
+        var pool = new GotenbergNodePool("http://gotenberg-1:3000", List.of("http://gotenberg-1:3000", "http://gotenberg-2:3000"));
+        pool.getNodes().forEach(pool::eject);
+        pool.getNodes().get(0).setDownModules(Set.of(GotenbergModule.LIBREOFFICE));
+
+        // Act
+        Health health = new GotenbergHealthIndicator(pool).health();
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(Map.of("status", "DOWN", "downModules", Set.of(GotenbergModule.LIBREOFFICE)),
+                ((Map<?, ?>) health.getDetails().get("nodes")).get("http://gotenberg-1:3000"));
+    }
+}
@@ -0,0 +1,70 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergHealthProberTest {
+
+    @Test
+    void shouldEjectUnreachableNodes() {
+        // Arrange
+        String unreachable;
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            unreachable = stub.getBaseUrl();
+        }
+        try (GotenbergStubServer healthy = new GotenbergStubServer().start()) {
+            var pool = new GotenbergNodePool(healthy.getBaseUrl(), List.of(healthy.getBaseUrl(), unreachable));
+            var prober = new GotenbergHealthProber(pool, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+            // Act
+            prober.probeAll();
+
+            // Assert
+            assertFalse(pool.getNodes().get(0).isEjected());
+            assertTrue(pool.getNodes().get(0).getDownModules().isEmpty());
+            assertTrue(pool.getNodes().get(1).isEjected());
+        }
+    }
+
+    @Test
+    void shouldReadNodeVersions() {
+        try (GotenbergStubServer stub = new GotenbergStubServer().version("8.21.1").start()) {
+            // Arrange
+            var pool = new GotenbergNodePool(stub.getBaseUrl(), List.of(stub.getBaseUrl()));
+            var prober = new GotenbergHealthProber(pool, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+            // Act
+            prober.readVersions();
+
+            // Assert
+            assertEquals("8.21.1", pool.getNodes().getFirst().getVersion());
+        }
+    }
+
+    @Test
+    void shouldProbeInBackgroundWhileRunning() throws Exception {
+        // Arrange
+        String unreachable;
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            unreachable = stub.getBaseUrl();
+        }
+        var pool = new GotenbergNodePool(unreachable, List.of(unreachable));
+        var prober = new GotenbergHealthProber(pool, Duration.ofMillis(50), Duration.ofSeconds(1));
+
+        // Act
+        prober.start();
+        try {
+            for (int i = 0; i < 100 && !pool.getNodes().getFirst().isEjected(); i++) Thread.sleep(20);
+        } finally {
+            prober.stop();
+        }
+
+        // Assert
+        assertTrue(pool.getNodes().getFirst().isEjected());
+        assertFalse(prober.isRunning());
+    }
+}
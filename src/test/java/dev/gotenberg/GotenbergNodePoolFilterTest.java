@@ -0,0 +1,43 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergNodePoolFilterTest {
+
+    @Test
+    void shouldRouteReactiveRequestsToAvailableNode() {
+        try (GotenbergStubServer first = new GotenbergStubServer().start();
+             GotenbergStubServer second = new GotenbergStubServer().start()) {
+            // Arrange
+            GotenbergNodePool pool = new GotenbergNodePool("http://gotenberg", List.of(first.getBaseUrl(), second.getBaseUrl()),
+                    GotenbergNodePool.DEFAULT_WEIGHTS, 3, Duration.ofMinutes(1), Duration.ofMinutes(1));
+            pool.eject(pool.getNodes().getFirst());
+            WebClient webClient = WebClient.builder().baseUrl("http://gotenberg").filter(new GotenbergNodePoolFilter(pool)).build();
+            ReactiveGotenbergClient client = HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient)).build()
+                    .createClient(ReactiveGotenbergClient.class);
+
+            // Act
+            ResponseEntity<Flux<DataBuffer>> response = client.pdfMerge(
+                    GotenbergClient.pdfMergeOptions().file("a.pdf", GotenbergStubServer.PDF)).block();
+            DataBufferUtils.release(DataBufferUtils.join(response.getBody()).block());
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(0, first.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+            assertEquals(1, second.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+            assertEquals(0, pool.getNodes().get(1).getOutstanding(GotenbergModule.PDF_ENGINES));
+        }
+    }
+}
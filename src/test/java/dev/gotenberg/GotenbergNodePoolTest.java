@@ -0,0 +1,148 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergNodePoolTest {
+
+    private static GotenbergNodePool pool(int failureThreshold, Duration ejectionBackoff, GotenbergStubServer... stubs) {
+        List<String> nodes = Arrays.stream(stubs).map(GotenbergStubServer::getBaseUrl).toList();
+        return new GotenbergNodePool("http://gotenberg", nodes, GotenbergNodePool.DEFAULT_WEIGHTS, failureThreshold,
+                ejectionBackoff, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldSelectNodeWithLowestWeightedLoad() {
+        try (GotenbergStubServer first = new GotenbergStubServer().latency(Duration.ofSeconds(1)).start();
+             GotenbergStubServer second = new GotenbergStubServer().latency(Duration.ofSeconds(1)).start()) {
+            // Arrange
+            GotenbergNodePool pool = pool(3, Duration.ofSeconds(5), first, second);
+            try (var asyncClient = new GotenbergAsyncClient(first.client(builder -> builder.requestInterceptor(pool)))) {
+                // A LibreOffice conversion weighs 3, more than two PDF engines calls
+                CompletableFuture<?> office = asyncClient.convertLibreOffice(GotenbergClient.libreOfficeOptions());
+                while (load(pool, GotenbergModule.LIBREOFFICE) < 1) Thread.onSpinWait();
+                GotenbergNodePool.Node busy = pool.getNodes().stream()
+                        .filter(node -> node.getOutstanding(GotenbergModule.LIBREOFFICE) == 1).findFirst().orElseThrow();
+                CompletableFuture<?> merge = asyncClient.pdfMerge(GotenbergClient.pdfMergeOptions());
+                while (load(pool, GotenbergModule.PDF_ENGINES) < 1) Thread.onSpinWait();
+                CompletableFuture<?> secondMerge = asyncClient.pdfMerge(GotenbergClient.pdfMergeOptions());
+                while (load(pool, GotenbergModule.PDF_ENGINES) < 2) Thread.onSpinWait();
+
+                // Act
+                GotenbergNodePool.Node selected = pool.select(GotenbergModule.CHROMIUM);
+
+                // Assert
+                assertNotSame(busy, selected);
+                assertEquals(2, selected.getOutstanding(GotenbergModule.PDF_ENGINES));
+                CompletableFuture.allOf(office, merge, secondMerge).join();
+            }
+        }
+    }
+
+    @Test
+    void shouldEjectNodeAfterConsecutiveFailures() throws Exception {
+        try (GotenbergStubServer failing = new GotenbergStubServer().errorRate(1.0, 500).start();
+             GotenbergStubServer healthy = new GotenbergStubServer().start()) {
+            // Arrange
+            GotenbergNodePool pool = pool(2, Duration.ofMinutes(1), failing, healthy);
+            GotenbergClient client = failing.client(builder -> builder.requestInterceptor(pool));
+
+            // Act
+            for (int i = 0; i < 30; i++) {
+                try {
+                    client.pdfMerge(GotenbergClient.pdfMergeOptions()).getBody().close();
+                } catch (HttpServerErrorException ignored) {
+                }
+            }
+
+            // Assert
+            assertTrue(pool.getNodes().get(0).isEjected());
+            assertFalse(pool.getNodes().get(1).isEjected());
+            assertEquals(2, failing.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+            assertEquals(28, healthy.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+        }
+    }
+
+    @Test
+    void shouldDoubleBackoffOnEveryEjection() throws Exception {
+        try (GotenbergStubServer failing = new GotenbergStubServer().errorRate(1.0, 500).start()) {
+            // Arrange
+            GotenbergNodePool pool = pool(1, Duration.ofMillis(200), failing);
+            GotenbergClient client = failing.client(builder -> builder.requestInterceptor(pool));
+            GotenbergNodePool.Node node = pool.getNodes().getFirst();
+            assertThrows(HttpServerErrorException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+            Thread.sleep(300);
+            assertFalse(node.isEjected());
+
+            // Act
+            assertThrows(HttpServerErrorException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+
+            // Assert
+            Thread.sleep(300);
+            assertTrue(node.isEjected());
+            Thread.sleep(200);
+            assertFalse(node.isEjected());
+        }
+    }
+
+    @Test
+    void shouldSpreadOverEjectedNodesWhenAllAreEjected() {
+        try (GotenbergStubServer first = new GotenbergStubServer().errorRate(1.0, 503).start();
+             GotenbergStubServer second = new GotenbergStubServer().errorRate(1.0, 503).start()) {
+            // Arrange
+            GotenbergNodePool pool = pool(1, Duration.ofMinutes(1), first, second);
+            GotenbergClient client = first.client(builder -> builder.requestInterceptor(pool));
+            for (int i = 0; i < 20 && !pool.getNodes().stream().allMatch(GotenbergNodePool.Node::isEjected); i++) {
+                assertThrows(HttpServerErrorException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+            }
+            long sent = first.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE) + second.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE);
+
+            // Act
+            assertThrows(HttpServerErrorException.class, () -> client.pdfMerge(GotenbergClient.pdfMergeOptions()));
+
+            // Assert
+            assertTrue(pool.getNodes().stream().allMatch(GotenbergNodePool.Node::isEjected));
+            assertEquals(sent + 1, first.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE)
+                    + second.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+        }
+    }
+
+    @Test
+    void shouldShrinkBulkheadLimitsWhenNodeIsEjected() {
+        try (GotenbergStubServer first = new GotenbergStubServer().latency(Duration.ofMillis(200)).start();
+             GotenbergStubServer second = new GotenbergStubServer().latency(Duration.ofMillis(200)).start()) {
+            // Arrange
+            GotenbergNodePool pool = pool(3, Duration.ofMinutes(1), first, second);
+            var bulkhead = new GotenbergBulkhead(Map.of(GotenbergModule.PDF_ENGINES, 1), 10, Duration.ofSeconds(30));
+            bulkhead.setNodePool(pool);
+            pool.eject(pool.getNodes().get(1));
+            GotenbergClient client = first.client(builder -> builder.requestInterceptor(bulkhead).requestInterceptor(pool));
+
+            // Act
+            try (var asyncClient = new GotenbergAsyncClient(client)) {
+                List<CompletableFuture<?>> merges = IntStream.range(0, 3)
+                        .<CompletableFuture<?>>mapToObj(i -> asyncClient.pdfMerge(GotenbergClient.pdfMergeOptions()))
+                        .toList();
+                CompletableFuture.allOf(merges.toArray(CompletableFuture[]::new)).join();
+            }
+
+            // Assert
+            assertEquals(3, first.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+            assertEquals(1, first.getMaxInFlight());
+            assertEquals(0, second.getRequestCount(GotenbergRoute.PDF_ENGINES_MERGE));
+        }
+    }
+
+    private static int load(GotenbergNodePool pool, GotenbergModule module) {
+        return pool.getNodes().stream().mapToInt(node -> node.getOutstanding(module)).sum();
+    }
+}
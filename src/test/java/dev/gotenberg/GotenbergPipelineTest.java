@@ -0,0 +1,65 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class GotenbergPipelineTest extends GotenbergContainerTest {
+
+    @Test
+    void shouldConvertMergeAndWriteMetadata() throws Exception {
+        // Arrange
+        byte[] pdf;
+        try (GotenbergPipeline pipeline = new GotenbergPipeline(gotenbergClient, 1024)) {
+            List<GotenbergPipeline.Stage> sections = IntStream.range(0, 3)
+                    .mapToObj(i -> pipeline.convertHtml("<html><body><h1>Section " + i + "</h1></body></html>", null))
+                    .toList();
+            GotenbergPipeline.Stage merged = pipeline.pdfMerge(sections, null);
+
+            // Act
+            ResponseEntity<InputStream> response = pipeline.writeMetadata(merged,
+                    GotenbergClient.writeMetadataOptions().metadata("Title", "Pipeline")).join();
+            try (InputStream body = response.getBody()) {
+                pdf = body.readAllBytes();
+            }
+        }
+
+        // Assert
+        assertTrue(pdf[0] == '%' && pdf[1] == 'P' && pdf[2] == 'D' && pdf[3] == 'F');
+        ResponseEntity<Map<String, Map<String, Object>>> metadata = gotenbergClient.readMetadata(
+                GotenbergClient.readMetadataOptions().file("result.pdf", pdf));
+        assertEquals("Pipeline", metadata.getBody().get("result.pdf").get("Title"));
+    }
+
+    @Test
+    void shouldFailDependentStages() {
+        try (GotenbergPipeline pipeline = new GotenbergPipeline(gotenbergClient, 1024 * 1024)) {
+            // Arrange
+            GotenbergPipeline.Stage broken = pipeline.convertLibreOffice(GotenbergClient.libreOfficeOptions());
+            GotenbergPipeline.Stage merged = pipeline.pdfMerge(List.of(pipeline.convertHtml("<html></html>", null), broken), null);
+
+            // Act & Assert
+            assertThrows(Exception.class, merged::join);
+        }
+    }
+
+    @Test
+    void shouldOnlyUseStageOnce() {
+        try (GotenbergPipeline pipeline = new GotenbergPipeline(gotenbergClient, 1024 * 1024)) {
+            // Arrange
+            GotenbergPipeline.Stage stage = pipeline.convertHtml("<html></html>", null);
+            pipeline.pdfMerge(List.of(stage), null);
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class, stage::join);
+        }
+    }
+}
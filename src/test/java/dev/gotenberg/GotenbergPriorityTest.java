@@ -0,0 +1,77 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergPriorityTest {
+
+    @Test
+    void shouldAdmitInteractiveRequestsBeforeQueuedBulkRequests() {
+        // Arrange
+        var scheduling = new GotenbergBulkhead.Scheduling(GotenbergBulkhead.Scheduling.Mode.STRICT,
+                Map.of(), Map.of(), Duration.ofMinutes(1));
+        var bulkhead = new GotenbergBulkhead(Map.of(GotenbergModule.CHROMIUM, 1), 10, Duration.ofSeconds(30), scheduling);
+        List<String> completed = new CopyOnWriteArrayList<>();
+        try (GotenbergStubServer stub = new GotenbergStubServer().latency(Duration.ofMillis(200)).start();
+             var asyncClient = new GotenbergAsyncClient(new PriorityGotenbergClient(stub.client(builder -> builder.requestInterceptor(bulkhead))))) {
+            var bulk = GotenbergClient.chromiumConvertOptions().priority(GotenbergPriority.BULK);
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String name = "bulk-" + i;
+                futures.add(asyncClient.convertHtml("<html></html>", bulk).thenRun(() -> completed.add(name)));
+            }
+            while (bulkhead.getQueueDepth(GotenbergModule.CHROMIUM, GotenbergPriority.BULK) < 3) Thread.onSpinWait();
+
+            // Act
+            futures.add(asyncClient.convertHtml("<html></html>", GotenbergClient.chromiumConvertOptions())
+                    .thenRun(() -> completed.add("interactive")));
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            // Assert
+            assertEquals("interactive", completed.get(1));
+            assertEquals(1, stub.getMaxInFlight());
+            assertEquals(5, bulkhead.getAdmittedCount(GotenbergModule.CHROMIUM));
+            assertEquals(0, bulkhead.getActive(GotenbergModule.CHROMIUM, GotenbergPriority.BULK));
+        }
+    }
+
+    @Test
+    void shouldNotSendPriorityToGotenberg() throws Exception {
+        // Arrange
+        List<Object> seen = new CopyOnWriteArrayList<>();
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            GotenbergClient client = new PriorityGotenbergClient(stub.client(builder -> builder.requestInterceptor((request, body, execution) -> {
+                seen.add(PriorityGotenbergClient.current());
+                seen.add(request.getHeaders().getFirst("Gotenberg-Priority") != null);
+                return execution.execute(request, body);
+            })));
+
+            // Act
+            client.convertHtml("<html></html>", GotenbergClient.chromiumConvertOptions().priority(GotenbergPriority.BULK))
+                    .getBody().close();
+
+            // Assert
+            assertEquals(List.of(GotenbergPriority.BULK, false), seen);
+            assertEquals(GotenbergPriority.INTERACTIVE, PriorityGotenbergClient.current());
+        }
+    }
+
+    @Test
+    void shouldRejectFloorsBeyondLimit() {
+        // Arrange
+        var scheduling = new GotenbergBulkhead.Scheduling(GotenbergBulkhead.Scheduling.Mode.WEIGHTED,
+                Map.of(), Map.of(GotenbergPriority.INTERACTIVE, 2, GotenbergPriority.BULK, 2), Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new GotenbergBulkhead(Map.of(GotenbergModule.CHROMIUM, 3), 10, Duration.ofSeconds(30), scheduling));
+    }
+}
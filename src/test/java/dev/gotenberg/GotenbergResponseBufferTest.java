@@ -0,0 +1,80 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergResponseBufferTest {
+
+    @Test
+    void shouldSpillLargeBodiesAndDeleteThemOnClose() throws Exception {
+        // Arrange
+        byte[] pdf = new byte[64 * 1024];
+        System.arraycopy(GotenbergStubServer.PDF, 0, pdf, 0, GotenbergStubServer.PDF.length);
+        var responseBuffer = new GotenbergResponseBuffer(1024, 4);
+        try (GotenbergStubServer stub = new GotenbergStubServer().pdf(pdf).start()) {
+            // Act
+            SpilledResource merged = responseBuffer.read(stub.client(builder -> {}).pdfMerge(GotenbergClient.pdfMergeOptions())).getBody();
+
+            // Assert
+            assertNotNull(merged);
+            try (merged) {
+                assertTrue(merged.isSpilled());
+                assertEquals(pdf.length, merged.contentLength());
+                try (InputStream first = merged.getInputStream(); InputStream second = merged.getInputStream()) {
+                    assertArrayEquals(pdf, first.readAllBytes());
+                    assertArrayEquals(pdf, second.readAllBytes());
+                }
+            }
+            assertFalse(merged.exists());
+            assertThrows(IOException.class, merged::getInputStream);
+            assertEquals(1, responseBuffer.getSpilledCount());
+            assertEquals(1, responseBuffer.getPooledCount());
+        }
+    }
+
+    @Test
+    void shouldReuseHeapBuffers() throws Exception {
+        // Arrange
+        var responseBuffer = new GotenbergResponseBuffer(1024 * 1024, 4);
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            GotenbergClient client = stub.client(builder -> {});
+
+            // Act
+            for (int i = 0; i < 3; i++) {
+                try (SpilledResource pdf = responseBuffer.read(client.convertUrl("https://example.com", null)).getBody()) {
+                    assertNotNull(pdf);
+                    assertFalse(pdf.isSpilled());
+                    assertArrayEquals(GotenbergStubServer.PDF, pdf.getContentAsByteArray());
+                }
+            }
+
+            // Assert
+            assertEquals(3, responseBuffer.getHeapCount());
+            assertEquals(1, responseBuffer.getPooledCount());
+        }
+    }
+
+    @Test
+    void shouldKeepChunksOfOpenStreamsOutOfThePool() throws Exception {
+        // Arrange
+        var responseBuffer = new GotenbergResponseBuffer(1024 * 1024, 4);
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            SpilledResource pdf = responseBuffer.read(stub.client(builder -> {}).convertUrl("https://example.com", null)).getBody();
+            assertNotNull(pdf);
+            InputStream in = pdf.getInputStream();
+
+            // Act
+            pdf.close();
+
+            // Assert
+            assertEquals(0, responseBuffer.getPooledCount());
+            assertArrayEquals(GotenbergStubServer.PDF, in.readAllBytes());
+            in.close();
+            assertEquals(1, responseBuffer.getPooledCount());
+        }
+    }
+}
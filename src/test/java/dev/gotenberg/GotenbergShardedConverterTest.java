@@ -0,0 +1,44 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class GotenbergShardedConverterTest extends GotenbergContainerTest {
+
+    @Test
+    void shouldSplitPagesIntoContiguousRanges() {
+        assertEquals(List.of("1-4", "5-7", "8-10"), GotenbergShardedConverter.pageRanges(10, 3));
+        assertEquals(List.of("1", "2"), GotenbergShardedConverter.pageRanges(2, 4));
+        assertEquals(List.of("1-5"), GotenbergShardedConverter.pageRanges(5, 1));
+    }
+
+    @Test
+    void shouldConvertShardsAndMergeThem() throws Exception {
+        // Arrange
+        String html = IntStream.rangeClosed(1, 6)
+                .mapToObj(i -> "<h1 style=\"page-break-before: " + (i == 1 ? "auto" : "always") + "\">Page " + i + "</h1>")
+                .collect(Collectors.joining("", "<html><body>", "</body></html>"));
+        var converter = new GotenbergShardedConverter(gotenbergClient, 3, 1024 * 1024);
+
+        // Act
+        byte[] pdf;
+        try (InputStream body = converter.convertHtml(html, null, 6).getBody()) {
+            pdf = body.readAllBytes();
+        }
+
+        // Assert
+        ResponseEntity<Map<String, Map<String, Object>>> metadata = gotenbergClient.readMetadata(
+                GotenbergClient.readMetadataOptions().file("sharded.pdf", pdf));
+        assertEquals(6, ((Number) metadata.getBody().get("sharded.pdf").get("PageCount")).intValue());
+    }
+}
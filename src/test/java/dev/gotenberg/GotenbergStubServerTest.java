@@ -0,0 +1,82 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergStubServerTest {
+
+    @Test
+    void shouldServeCannedPdf() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Act
+            ResponseEntity<InputStream> response = stub.client(builder -> {}).convertHtml("<html></html>", null);
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertArrayEquals(GotenbergStubServer.PDF, response.getBody().readAllBytes());
+            assertEquals(1, stub.getRequestCount(GotenbergRoute.CHROMIUM_CONVERT_HTML));
+        }
+    }
+
+    @Test
+    void shouldServeCannedPng() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            // Act
+            ResponseEntity<InputStream> response = stub.client(builder -> {}).screenshotHtml("<html></html>", null);
+
+            // Assert
+            assertEquals("image/png", response.getHeaders().getContentType().toString());
+            assertArrayEquals(GotenbergStubServer.PNG, response.getBody().readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldFailAtConfiguredRate() {
+        try (GotenbergStubServer stub = new GotenbergStubServer().errorRate(1.0, 503).start()) {
+            // Act
+            HttpServerErrorException exception = assertThrows(HttpServerErrorException.class,
+                    () -> stub.client(builder -> {}).convertHtml("<html></html>", null));
+
+            // Assert
+            assertEquals(503, exception.getStatusCode().value());
+        }
+    }
+
+    @Test
+    void shouldRejectBeyondConcurrencyCap() {
+        try (GotenbergStubServer stub = new GotenbergStubServer()
+                .latency(Duration.ofMillis(200))
+                .maxConcurrent(GotenbergModule.CHROMIUM, 2)
+                .start();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Arrange
+            GotenbergClient client = stub.client(builder -> {});
+
+            // Act
+            List<CompletableFuture<Void>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        try (InputStream body = client.convertHtml("<html>" + i + "</html>", null).getBody()) {
+                            body.readAllBytes();
+                        } catch (Exception ignored) {
+                        }
+                    }, executor))
+                    .toList();
+            futures.forEach(CompletableFuture::join);
+
+            // Assert
+            assertTrue(stub.getMaxInFlight() <= 2);
+            assertTrue(stub.getRejectedCount(GotenbergModule.CHROMIUM) > 0);
+        }
+    }
+}
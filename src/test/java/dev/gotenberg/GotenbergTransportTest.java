@@ -0,0 +1,55 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.InputStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergTransportTest {
+
+    private static GotenbergProperties.Transport transport(GotenbergProperties.Transport.Factory factory,
+                                                           Duration readTimeout, boolean h2c) {
+        return new GotenbergProperties.Transport(factory, Duration.ofSeconds(1), readTimeout, 10, 5,
+                Duration.ofSeconds(30), h2c);
+    }
+
+    @Test
+    void shouldConvertThroughDedicatedClient() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().start();
+             GotenbergTransport transport = GotenbergTransport.create(
+                     transport(GotenbergProperties.Transport.Factory.JDK, Duration.ofSeconds(5), false))) {
+            // Arrange
+            GotenbergClient client = stub.client(builder -> builder.requestFactory(transport.getRequestFactory()));
+
+            // Act
+            ResponseEntity<InputStream> response = client.convertHtml("<html></html>", null);
+
+            // Assert
+            assertArrayEquals(GotenbergStubServer.PDF, response.getBody().readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldApplyReadTimeout() throws Exception {
+        try (GotenbergStubServer stub = new GotenbergStubServer().latency(Duration.ofSeconds(2)).start();
+             GotenbergTransport transport = GotenbergTransport.create(
+                     transport(GotenbergProperties.Transport.Factory.JDK, Duration.ofMillis(200), false))) {
+            // Arrange
+            GotenbergClient client = stub.client(builder -> builder.requestFactory(transport.getRequestFactory()));
+
+            // Act & Assert
+            assertThrows(ResourceAccessException.class, () -> client.convertHtml("<html></html>", null));
+        }
+    }
+
+    @Test
+    void shouldRejectH2cWithApacheHttpClient() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> GotenbergTransport.create(
+                transport(GotenbergProperties.Transport.Factory.HTTP_COMPONENTS, null, true)));
+    }
+}
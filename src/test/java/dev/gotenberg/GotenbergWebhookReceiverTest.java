@@ -0,0 +1,116 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GotenbergWebhookReceiverTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private GotenbergWebhookReceiver receiver;
+
+    @BeforeEach
+    void startReceiver() {
+        receiver = new GotenbergWebhookReceiver("127.0.0.1", 0, null, 1024);
+        receiver.start();
+    }
+
+    @AfterEach
+    void stopReceiver() {
+        receiver.stop();
+    }
+
+    @Test
+    void shouldCompleteWithPostedResult() throws Exception {
+        // Arrange
+        CompletableFuture<ResponseEntity<InputStream>> future = receiver.register("abc");
+        byte[] pdf = "%PDF-1.7 webhook".getBytes();
+
+        // Act
+        int status = post(receiver.resultUrl("abc"), "application/pdf", pdf);
+
+        // Assert
+        assertEquals(204, status);
+        ResponseEntity<InputStream> response = future.join();
+        assertEquals("application/pdf", response.getHeaders().getContentType().toString());
+        try (InputStream body = response.getBody()) {
+            assertArrayEquals(pdf, body.readAllBytes());
+        }
+        assertEquals(0, receiver.getPendingCount());
+    }
+
+    @Test
+    void shouldFailWithPostedError() throws Exception {
+        // Arrange
+        CompletableFuture<ResponseEntity<InputStream>> future = receiver.register("abc");
+
+        // Act
+        post(receiver.errorUrl("abc"), "application/json", "{\"status\":400,\"message\":\"Bad Request\"}".getBytes());
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        GotenbergWebhookException cause = assertInstanceOf(GotenbergWebhookException.class, exception.getCause());
+        assertEquals(400, cause.getStatus());
+    }
+
+    @Test
+    void shouldRejectUnknownId() throws Exception {
+        // Act
+        int status = post(receiver.getCallbackUrl() + "/unknown", "application/pdf", new byte[]{1});
+
+        // Assert
+        assertEquals(404, status);
+    }
+
+    @Test
+    void shouldRejectWrongSecret() throws Exception {
+        // Arrange
+        CompletableFuture<ResponseEntity<InputStream>> future = receiver.register("abc");
+
+        // Act
+        int status = post(receiver.getCallbackUrl() + "/abc/guess", "application/pdf", new byte[]{1});
+
+        // Assert
+        assertEquals(404, status);
+        assertFalse(future.isDone());
+    }
+
+    @Test
+    void shouldFailResultLargerThanMaximum() throws Exception {
+        // Arrange
+        CompletableFuture<ResponseEntity<InputStream>> future = receiver.register("abc");
+
+        // Act
+        int status = post(receiver.resultUrl("abc"), "application/pdf", new byte[2048]);
+
+        // Assert
+        assertEquals(413, status);
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertEquals(413, assertInstanceOf(GotenbergWebhookException.class, exception.getCause()).getStatus());
+    }
+
+    @Test
+    void shouldRequireCallbackUrlWhenBindingEveryAddress() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new GotenbergWebhookReceiver("0.0.0.0", 0, null));
+    }
+
+    private int post(String url, String contentType, byte[] body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,99 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingGotenbergClientTest {
+
+    private static GotenbergHedgePolicy warmedUp(double budget) {
+        GotenbergHedgePolicy policy = new GotenbergHedgePolicy(0.5, Duration.ofMillis(50), budget);
+        for (int i = 0; i < GotenbergHedgePolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency(GotenbergRoute.CHROMIUM_CONVERT_URL, Duration.ofMillis(5).toNanos());
+        }
+        return policy;
+    }
+
+    @Test
+    void shouldAnswerWithHedgeWhenFirstRequestIsLate() throws Exception {
+        // Arrange
+        AtomicInteger requests = new AtomicInteger();
+        GotenbergHedgePolicy policy = warmedUp(1.0);
+        try (GotenbergStubServer stub = new GotenbergStubServer()
+                .latency(_ -> requests.getAndIncrement() == 0 ? Duration.ofSeconds(5) : Duration.ZERO)
+                .start()) {
+            GotenbergClient client = new HedgingGotenbergClient(stub.client(builder -> {}), policy);
+            long start = System.nanoTime();
+
+            // Act
+            ResponseEntity<InputStream> response = client.convertUrl("https://example.com", null);
+
+            // Assert
+            assertArrayEquals(GotenbergStubServer.PDF, response.getBody().readAllBytes());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+            assertEquals(1, policy.getHedgeCount());
+            assertEquals(1, policy.getHedgeWinCount());
+        }
+    }
+
+    @Test
+    void shouldReportNodeOfPrimaryAnsweringInTime() throws Exception {
+        // Arrange
+        GotenbergHedgePolicy policy = warmedUp(1.0);
+        try (GotenbergStubServer stub = new GotenbergStubServer().start();
+             GotenbergExchangeStats stats = GotenbergExchangeStats.open()) {
+            GotenbergClient client = new HedgingGotenbergClient(stub.client(builder -> builder.requestInterceptor((request, body, execution) -> {
+                GotenbergExchangeStats.recordNode(request.getURI().getAuthority());
+                return execution.execute(request, body);
+            })), policy);
+
+            // Act
+            ResponseEntity<InputStream> response = client.convertUrl("https://example.com", null);
+
+            // Assert
+            response.getBody().close();
+            assertEquals(0, policy.getHedgeCount());
+            assertEquals(URI.create(stub.getBaseUrl()).getAuthority(), stats.getNode());
+        }
+    }
+
+    @Test
+    void shouldNotHedgeBeyondBudget() throws Exception {
+        // Arrange
+        GotenbergHedgePolicy policy = warmedUp(0.0);
+        try (GotenbergStubServer stub = new GotenbergStubServer().latency(Duration.ofMillis(300)).start()) {
+            GotenbergClient client = new HedgingGotenbergClient(stub.client(builder -> {}), policy);
+
+            // Act
+            ResponseEntity<InputStream> response = client.convertUrl("https://example.com", null);
+
+            // Assert
+            assertArrayEquals(GotenbergStubServer.PDF, response.getBody().readAllBytes());
+            assertEquals(0, policy.getHedgeCount());
+            assertEquals(1, policy.getBudgetExhaustedCount());
+            assertEquals(1, stub.getRequestCount(GotenbergRoute.CHROMIUM_CONVERT_URL));
+        }
+    }
+
+    @Test
+    void shouldOnlyHedgeRequestsThatCanBeSentTwice() {
+        // Arrange
+        GotenbergClient.ChromiumConvertOptions stream = GotenbergClient.chromiumConvertOptions()
+                .file("index.html", new ByteArrayInputStream(new byte[0]));
+        GotenbergClient.ChromiumConvertOptions webhook = GotenbergClient.chromiumConvertOptions()
+                .header("Gotenberg-Webhook-Url", "http://localhost/result");
+
+        // Act & Assert
+        assertTrue(HedgingGotenbergClient.isHedgeable(GotenbergClient.chromiumConvertOptions().file("index.html", "<html></html>").parts, new LinkedMultiValueMap<>()));
+        assertFalse(HedgingGotenbergClient.isHedgeable(stream.parts, stream.headers));
+        assertFalse(HedgingGotenbergClient.isHedgeable(webhook.parts, webhook.headers));
+    }
+}
@@ -0,0 +1,55 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeakDetectingGotenbergClientTest {
+
+    @Test
+    void shouldCloseBodyAfterCallback() {
+        // Arrange
+        var detector = new GotenbergLeakDetector(false);
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            GotenbergClient client = new LeakDetectingGotenbergClient(stub.client(builder -> {}), detector);
+
+            // Act
+            byte[] pdf = client.convertHtml("<html></html>", null, body -> body.readAllBytes());
+            assertThrows(IllegalStateException.class, () -> client.convertUrl("https://example.com", null, _ -> {
+                throw new IllegalStateException("Handler failed");
+            }));
+
+            // Assert
+            assertArrayEquals(GotenbergStubServer.PDF, pdf);
+            assertEquals(0, detector.getOpenCount());
+            assertEquals(0, detector.getLeakCount());
+        }
+    }
+
+    @Test
+    void shouldReportBodiesNeverClosed() throws Exception {
+        // Arrange
+        var detector = new GotenbergLeakDetector(true);
+        try (GotenbergStubServer stub = new GotenbergStubServer().start()) {
+            GotenbergClient client = new LeakDetectingGotenbergClient(stub.client(builder -> {}), detector);
+
+            // Act
+            leak(client);
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (detector.getLeakCount() == 0 && System.nanoTime() < deadline) {
+                System.gc();
+                Thread.sleep(50);
+            }
+
+            // Assert
+            assertEquals(1, detector.getLeakCount());
+            assertEquals(0, detector.getOpenCount());
+        }
+    }
+
+    private static void leak(GotenbergClient client) throws IOException {
+        assertEquals('%', client.convertUrl("https://example.com", null).getBody().read());
+    }
+}
@@ -0,0 +1,73 @@
+package dev.gotenberg;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class ObservingGotenbergClientTest extends GotenbergContainerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObservingGotenbergClient client;
+
+    @BeforeEach
+    void setUpObservation() {
+        meterRegistry = new SimpleMeterRegistry();
+        GotenbergObservationMetrics metrics = new GotenbergObservationMetrics();
+        metrics.bindTo(meterRegistry);
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+                .observationHandler(metrics);
+        client = new ObservingGotenbergClient(gotenbergClient, observationRegistry, null, "gotenberg:3000");
+    }
+
+    @Test
+    void shouldRecordConversion() throws Exception {
+        // Arrange
+        String html = "<html><body><h1>Observed</h1></body></html>";
+
+        // Act
+        long length;
+        try (InputStream body = client.convertHtml(html, null).getBody()) {
+            length = body.readAllBytes().length;
+        }
+
+        // Assert
+        Timer timer = meterRegistry.get("gotenberg.client.requests")
+                .tag("route", "/forms/chromium/convert/html")
+                .tag("node", "gotenberg:3000")
+                .tag("status", "200")
+                .tag("outcome", "SUCCESSFUL")
+                .timer();
+        assertEquals(1, timer.count());
+        DistributionSummary response = meterRegistry.get("gotenberg.client.requests.response").summary();
+        assertEquals(length, (long) response.totalAmount());
+        DistributionSummary parts = meterRegistry.get("gotenberg.client.requests.parts").summary();
+        assertEquals(1, (long) parts.totalAmount());
+        assertEquals(1, meterRegistry.get("gotenberg.client.requests.first.byte").timer().count());
+    }
+
+    @Test
+    void shouldRecordFailedConversion() {
+        // Act
+        assertThrows(Exception.class, () -> client.convertLibreOffice(GotenbergClient.libreOfficeOptions()));
+
+        // Assert
+        Timer timer = meterRegistry.get("gotenberg.client.requests")
+                .tag("route", "/forms/libreoffice/convert")
+                .tag("status", "400")
+                .tag("outcome", "CLIENT_ERROR")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
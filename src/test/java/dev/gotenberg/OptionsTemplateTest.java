@@ -0,0 +1,108 @@
+package dev.gotenberg;
+
+import dev.gotenberg.GotenbergClient.ChromiumConvertOptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class OptionsTemplateTest extends GotenbergContainerTest {
+
+    private static final OptionsTemplate<ChromiumConvertOptions> TEMPLATE = OptionsTemplate.of(
+            GotenbergClient.chromiumConvertOptions()
+                    .paperWidth(8.27)
+                    .paperHeight(11.7)
+                    .printBackground(true)
+                    .file("style.css", "h1 { color: red; }"));
+
+    @Test
+    void shouldConvertFromTemplate() throws Exception {
+        // Act
+        ResponseEntity<InputStream> response = gotenbergClient.convertHtml(
+                "<html><head><link rel=\"stylesheet\" href=\"style.css\"></head><body><h1>Template</h1></body></html>",
+                TEMPLATE.newRequest());
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        byte[] bytes = response.getBody().readAllBytes();
+        assertTrue(bytes[0] == '%' && bytes[1] == 'P' && bytes[2] == 'D' && bytes[3] == 'F');
+    }
+
+    @Test
+    void shouldNotLeakRequestFilesIntoTemplate() {
+        // Act
+        TEMPLATE.newRequest().file("index.html", "<html></html>");
+        ChromiumConvertOptions request = TEMPLATE.newRequest();
+
+        // Assert
+        assertEquals(1, request.parts.get("files").size());
+    }
+
+    @Test
+    void shouldShareEncodedPartsUntilWritten() {
+        // Act
+        ChromiumConvertOptions first = TEMPLATE.newRequest().file("index.html", "<html></html>");
+        ChromiumConvertOptions second = TEMPLATE.newRequest();
+
+        // Assert
+        assertSame(first.parts.get("paperWidth"), second.parts.get("paperWidth"));
+        assertEquals(2, first.parts.get("files").size());
+        assertEquals(1, second.parts.get("files").size());
+    }
+
+    @Test
+    void shouldCopyOptionsWithoutPublicCopyConstructor() {
+        // Arrange
+        OptionsTemplate<GotenbergClient.PdfMergeOptions> template = OptionsTemplate.of(GotenbergClient.pdfMergeOptions());
+
+        // Act & Assert
+        assertInstanceOf(GotenbergClient.PdfMergeOptions.class, template.newRequest());
+    }
+
+    @Test
+    void shouldBeSharedAcrossThreads() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act
+            List<CompletableFuture<Integer>> statuses = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        ResponseEntity<InputStream> response = gotenbergClient.convertHtml("<html>" + i + "</html>", TEMPLATE.newRequest());
+                        assertDoesNotThrow(() -> response.getBody().close());
+                        return response.getStatusCode().value();
+                    }, executor))
+                    .toList();
+
+            // Assert
+            statuses.forEach(status -> assertEquals(200, status.join()));
+        }
+    }
+
+    @Test
+    void shouldRejectSingleUseFiles() {
+        // Arrange
+        ChromiumConvertOptions options = GotenbergClient.chromiumConvertOptions()
+                .file("index.html", new ByteArrayInputStream(new byte[0]));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OptionsTemplate.of(options));
+    }
+
+    @Test
+    void shouldRejectFixedDeadline() {
+        // Arrange
+        ChromiumConvertOptions options = GotenbergClient.chromiumConvertOptions().deadline(Instant.now().plusSeconds(10));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OptionsTemplate.of(options));
+    }
+}
@@ -0,0 +1,52 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class PathTransferTest extends GotenbergContainerTest {
+
+    @Test
+    void shouldUploadFileFromPath() throws IOException {
+        // Arrange
+        Path samplePdf = new ClassPathResource("sample.pdf").getFile().toPath();
+
+        // Act
+        ResponseEntity<Map<String, Map<String, Object>>> response = gotenbergClient.readMetadata(
+                GotenbergClient.readMetadataOptions().file(samplePdf));
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().containsKey("sample.pdf"));
+    }
+
+    @Test
+    void shouldMergeDirectlyToFile(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path samplePdf = new ClassPathResource("sample.pdf").getFile().toPath();
+        Path target = directory.resolve("merged.pdf");
+        var options = GotenbergClient.pdfMergeOptions()
+                .file("a.pdf", samplePdf)
+                .file("b.pdf", samplePdf);
+
+        // Act
+        ResponseEntity<Path> response = gotenbergClient.pdfMergeTo(target, options);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(target, response.getBody());
+        byte[] bytes = Files.readAllBytes(target);
+        assertTrue(bytes[0] == '%' && bytes[1] == 'P' && bytes[2] == 'D' && bytes[3] == 'F');
+    }
+}
@@ -0,0 +1,76 @@
+package dev.gotenberg;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class ReactiveGotenbergClientTest extends GotenbergContainerTest {
+
+    private static ReactiveGotenbergClient reactiveClient;
+
+    @BeforeAll
+    static void setUpReactiveClient() {
+        String baseUrl = String.format("http://%s:%d",
+            GOTENBERG.getHost(),
+            GOTENBERG.getFirstMappedPort());
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .build();
+
+        reactiveClient = HttpServiceProxyFactory
+                .builderFor(WebClientAdapter.create(webClient))
+                .build()
+                .createClient(ReactiveGotenbergClient.class);
+    }
+
+    @Test
+    void shouldStreamHtmlConversion() {
+        // Arrange
+        String html = "<html><body><h1>Reactive</h1></body></html>";
+
+        // Act
+        ResponseEntity<Flux<DataBuffer>> response = reactiveClient.convertHtml(html, null).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCode().value());
+        DataBuffer joined = DataBufferUtils.join(response.getBody()).block();
+        assertNotNull(joined);
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        assertTrue(bytes[0] == '%' && bytes[1] == 'P' && bytes[2] == 'D' && bytes[3] == 'F');
+    }
+
+    @Test
+    void shouldUploadStreamedFilePart() {
+        // Arrange
+        Flux<DataBuffer> pdf = DataBufferUtils.read(new ClassPathResource("sample.pdf"), new DefaultDataBufferFactory(), 4096);
+        var options = GotenbergClient.readMetadataOptions()
+                .add("files", ReactiveGotenbergClient.filePart("sample.pdf", pdf));
+
+        // Act
+        ResponseEntity<Map<String, Map<String, Object>>> response = reactiveClient.readMetadata(options).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(response.getBody());
+        assertFalse(response.getBody().isEmpty());
+    }
+}
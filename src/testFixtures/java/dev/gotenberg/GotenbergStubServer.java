@@ -0,0 +1,330 @@
+package dev.gotenberg;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/// In-process stand-in for Gotenberg, serving the `/forms/chromium/*`, `/forms/libreoffice/convert` and
+/// `/forms/pdfengines/*` routes with canned bodies, plus `/health` and `/version`.
+///
+/// Latency, error rate and concurrency of each module can be shaped to test and benchmark the client under
+/// load without Docker. Request bodies are drained but not parsed. Random draws come from a seeded
+/// generator, so a run can be replayed.
+///
+/// ```java
+/// try (GotenbergStubServer stub = new GotenbergStubServer()
+///         .latency(Duration.ofMillis(50), Duration.ofMillis(200))
+///         .errorRate(0.01, 503)
+///         .maxConcurrent(GotenbergModule.CHROMIUM, 6)
+///         .start()) {
+///     GotenbergClient client = stub.client(builder -> builder.requestInterceptor(bulkhead));
+/// }
+/// ```
+public class GotenbergStubServer implements AutoCloseable {
+    /// Smallest PDF readers accept: one empty page.
+    public static final byte[] PDF = ("""
+            %PDF-1.4
+            1 0 obj<</Type/Catalog/Pages 2 0 R>>endobj
+            2 0 obj<</Type/Pages/Kids[3 0 R]/Count 1>>endobj
+            3 0 obj<</Type/Page/Parent 2 0 R/MediaBox[0 0 595 842]>>endobj
+            trailer<</Root 1 0 R>>
+            %%EOF
+            """).getBytes(StandardCharsets.US_ASCII);
+    /// A 1x1 transparent PNG.
+    public static final byte[] PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+    private static final byte[] METADATA = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<GotenbergModule, Semaphore> permits = new EnumMap<>(GotenbergModule.class);
+    private final AtomicLongArray requests = new AtomicLongArray(GotenbergRoute.values().length);
+    private final AtomicLongArray rejected = new AtomicLongArray(GotenbergModule.values().length);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private Random random = new Random(0);
+    private Function<Random, Duration> latency = _ -> Duration.ZERO;
+    private double errorRate;
+    private int errorStatus = 500;
+    private byte[] pdf = PDF;
+    private byte[] png = PNG;
+    private String version = "8.0.0-stub";
+    private @Nullable HttpServer server;
+    private @Nullable ExecutorService executor;
+    private @Nullable HttpClient webhookClient;
+
+    //region Configuration
+
+    /// Seeds the generator behind latencies and errors.
+    public GotenbergStubServer seed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /// Answers every request after the same delay.
+    public GotenbergStubServer latency(Duration latency) {
+        return latency(_ -> latency);
+    }
+
+    /// Answers every request after a delay drawn uniformly between `min` and `max`.
+    public GotenbergStubServer latency(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long spread = max.toNanos() - minNanos;
+        return latency(random -> Duration.ofNanos(minNanos + (spread > 0 ? random.nextLong(spread + 1) : 0)));
+    }
+
+    /// Answers every request after a delay drawn from the given distribution, for example
+    /// `random -> Duration.ofMillis((long) Math.exp(4 + random.nextGaussian()))` for a log-normal one.
+    public GotenbergStubServer latency(Function<Random, Duration> distribution) {
+        this.latency = distribution;
+        return this;
+    }
+
+    /// Fails the given fraction of conversions with the given status, after the latency.
+    public GotenbergStubServer errorRate(double rate, int status) {
+        this.errorRate = rate;
+        this.errorStatus = status;
+        return this;
+    }
+
+    /// Answers `503` to requests for the module beyond `limit` in flight, as Gotenberg does once its queue is full.
+    public GotenbergStubServer maxConcurrent(GotenbergModule module, int limit) {
+        permits.put(module, new Semaphore(limit));
+        return this;
+    }
+
+    /// Body of the routes returning a PDF.
+    public GotenbergStubServer pdf(byte[] pdf) {
+        this.pdf = pdf;
+        return this;
+    }
+
+    /// Body of the screenshot routes.
+    public GotenbergStubServer png(byte[] png) {
+        this.png = png;
+        return this;
+    }
+
+    /// Text returned by `/version`.
+    public GotenbergStubServer version(String version) {
+        this.version = version;
+        return this;
+    }
+    //endregion
+
+    /// Starts listening on a free port of the loopback interface.
+    public GotenbergStubServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+            ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gotenberg-stub-", 0).factory());
+            server.setExecutor(executor);
+            server.createContext("/", this::handle);
+            server.start();
+            this.server = server;
+            this.executor = executor;
+            this.webhookClient = HttpClient.newBuilder().executor(executor).build();
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the Gotenberg stub", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (webhookClient != null) {
+            webhookClient.close();
+            webhookClient = null;
+        }
+        if (executor != null) {
+            executor.close();
+            executor = null;
+        }
+    }
+
+    /// The URL to give the client, such as `http://127.0.0.1:54321`.
+    public String getBaseUrl() {
+        if (server == null) throw new IllegalStateException("Gotenberg stub not started");
+        InetSocketAddress address = server.getAddress();
+        return "http://%s:%d".formatted(address.getHostString(), address.getPort());
+    }
+
+    /// A client of this stub, over the JDK HTTP client unless `customizer` sets another request factory.
+    public GotenbergClient client(Consumer<RestClient.Builder> customizer) {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(getBaseUrl())
+                .requestFactory(new JdkClientHttpRequestFactory());
+        customizer.accept(builder);
+        return HttpServiceProxyFactory.builderFor(RestClientAdapter.create(builder.build())).build()
+                .createClient(GotenbergClient.class);
+    }
+
+    //region Metrics
+
+    /// Number of requests received by the given route, including rejected and failed ones.
+    public long getRequestCount(GotenbergRoute route) {
+        return requests.get(route.ordinal());
+    }
+
+    /// Number of requests answered `503` because of [#maxConcurrent(GotenbergModule, int)].
+    public long getRejectedCount(GotenbergModule module) {
+        return rejected.get(module.ordinal());
+    }
+
+    /// Highest number of conversions in flight at once.
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+    //endregion
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            switch (path) {
+                case "/health" -> send(exchange, 200, "application/json", """
+                        {"status":"up","details":{"chromium":{"status":"up"},"libreoffice":{"status":"up"}}}"""
+                        .getBytes(StandardCharsets.UTF_8));
+                case "/version" -> send(exchange, 200, "text/plain", version.getBytes(StandardCharsets.UTF_8));
+                default -> convert(exchange, path);
+            }
+        }
+    }
+
+    private void convert(HttpExchange exchange, String path) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        GotenbergRoute route = route(path);
+        if (route == null || !"POST".equals(exchange.getRequestMethod())) {
+            send(exchange, 404, "text/plain", "Not Found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        requests.incrementAndGet(route.ordinal());
+        String trace = exchange.getRequestHeaders().getFirst("Gotenberg-Trace");
+        if (trace != null) exchange.getResponseHeaders().set("Gotenberg-Trace", trace);
+
+        Semaphore semaphore = permits.get(route.getModule());
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            rejected.incrementAndGet(route.getModule().ordinal());
+            send(exchange, 503, "text/plain", "Service Unavailable".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Duration delay;
+            boolean fail;
+            synchronized (random) {
+                delay = latency.apply(random);
+                fail = errorRate > 0 && random.nextDouble() < errorRate;
+            }
+            if (!delay.isZero()) Thread.sleep(delay);
+            respond(exchange, route, fail);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            if (semaphore != null) semaphore.release();
+        }
+    }
+
+    private void respond(HttpExchange exchange, GotenbergRoute route, boolean fail) throws IOException {
+        String webhookUrl = exchange.getRequestHeaders().getFirst("Gotenberg-Webhook-Url");
+        String webhookErrorUrl = exchange.getRequestHeaders().getFirst("Gotenberg-Webhook-Error-Url");
+        if (webhookUrl != null && webhookErrorUrl != null && webhookClient != null) {
+            // Like Gotenberg, accept right away and post the result once the conversion is done
+            send(exchange, 204, null, null);
+            HttpRequest callback = fail
+                    ? post(webhookErrorUrl, "application/json", """
+                            {"status":%d,"message":"Stubbed failure"}""".formatted(errorStatus).getBytes(StandardCharsets.UTF_8))
+                    : post(webhookUrl, contentType(route), body(route));
+            webhookClient.sendAsync(callback, HttpResponse.BodyHandlers.discarding());
+            return;
+        }
+        if (fail) {
+            send(exchange, errorStatus, "text/plain", "Stubbed failure".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"" + filename(route) + "\"");
+        send(exchange, 200, contentType(route), body(route));
+    }
+
+    private static HttpRequest post(String url, String contentType, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private byte[] body(GotenbergRoute route) {
+        return switch (route) {
+            case CHROMIUM_SCREENSHOT_HTML, CHROMIUM_SCREENSHOT_URL, CHROMIUM_SCREENSHOT_MARKDOWN -> png;
+            case PDF_ENGINES_READ_METADATA -> METADATA;
+            default -> pdf;
+        };
+    }
+
+    private static String contentType(GotenbergRoute route) {
+        return switch (route) {
+            case CHROMIUM_SCREENSHOT_HTML, CHROMIUM_SCREENSHOT_URL, CHROMIUM_SCREENSHOT_MARKDOWN -> "image/png";
+            case PDF_ENGINES_READ_METADATA -> "application/json";
+            default -> "application/pdf";
+        };
+    }
+
+    private static String filename(GotenbergRoute route) {
+        return switch (route) {
+            case CHROMIUM_SCREENSHOT_HTML, CHROMIUM_SCREENSHOT_URL, CHROMIUM_SCREENSHOT_MARKDOWN -> "result.png";
+            case PDF_ENGINES_READ_METADATA -> "result.json";
+            default -> "result.pdf";
+        };
+    }
+
+    private static @Nullable GotenbergRoute route(String path) {
+        for (GotenbergRoute route : GotenbergRoute.values()) {
+            if (route.getPath().equals(path)) return route;
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange exchange, int status, @Nullable String contentType, byte @Nullable [] body) throws IOException {
+        if (contentType != null) exchange.getResponseHeaders().set("Content-Type", contentType);
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}